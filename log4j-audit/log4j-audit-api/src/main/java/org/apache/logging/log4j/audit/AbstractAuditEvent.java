@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit;
+
+import static org.apache.logging.log4j.catalog.api.util.StringUtils.appendNewline;
+
+import org.apache.logging.log4j.audit.exception.ConstraintValidationException;
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
+import org.apache.logging.log4j.catalog.api.ConstraintType;
+import org.apache.logging.log4j.catalog.api.plugins.ConstraintPlugins;
+
+/**
+ * Base class for the Event implementations generated by the InterfacesGenerator. Generated classes write
+ * attribute values directly into the AuditMessage and validate them using constraints that were resolved
+ * when the class was loaded, avoiding the reflective dispatch performed for Proxy based Events.
+ */
+public abstract class AbstractAuditEvent implements AuditEvent {
+
+    private static final ConstraintCheck[] NO_CONSTRAINTS = new ConstraintCheck[0];
+
+    private final Class<? extends AuditEvent> intrface;
+
+    private final AuditMessage msg;
+
+    private AuditExceptionHandler auditExceptionHandler;
+
+    protected AbstractAuditEvent(Class<? extends AuditEvent> intrface) {
+        this.intrface = intrface;
+        this.msg = LogEventFactory.buildAuditMessage(intrface);
+        this.auditExceptionHandler = LogEventFactory.getDefaultHandler();
+    }
+
+    /**
+     * Returns the AuditMessage the attributes are being added to.
+     * @return The AuditMessage.
+     */
+    public AuditMessage getMessage() {
+        return msg;
+    }
+
+    @Override
+    public void logEvent() {
+        LogEventFactory.validateAndLogEvent(intrface, msg, auditExceptionHandler);
+    }
+
+    @Override
+    public void setAuditExceptionHandler(AuditExceptionHandler exceptionHandler) {
+        auditExceptionHandler = exceptionHandler == null ? LogEventFactory.getNoopHandler() : exceptionHandler;
+    }
+
+    @Override
+    public void setCompletionStatus(String status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Missing completion status");
+        }
+        msg.put("completionStatus", status);
+    }
+
+    /**
+     * Adds an attribute that has no constraints to the event.
+     * @param name The attribute name.
+     * @param value The attribute value.
+     */
+    protected void setProperty(String name, Object value) {
+        setProperty(name, value, NO_CONSTRAINTS);
+    }
+
+    /**
+     * Validates the value against the constraints and adds it to the event.
+     * @param name The attribute name.
+     * @param value The attribute value.
+     * @param constraints The constraints to apply to the value.
+     */
+    protected void setProperty(String name, Object value, ConstraintCheck[] constraints) {
+        try {
+            if (value == null) {
+                throw new IllegalArgumentException("No value to be set for " + name);
+            }
+            if (constraints.length > 0) {
+                String str = value.toString();
+                StringBuilder errors = new StringBuilder();
+                for (ConstraintCheck constraint : constraints) {
+                    constraint.validate(name, str, errors);
+                }
+                if (errors.length() > 0) {
+                    throw new ConstraintValidationException(errors.toString());
+                }
+            }
+            LogEventFactory.putProperty(msg, name, value);
+        } catch (Throwable ex) {
+            LogEventFactory.handleException(msg, ex, auditExceptionHandler);
+        }
+    }
+
+    /**
+     * Compiles a constraint so it can be evaluated without locating the ConstraintType or parsing the constraint
+     * value on every call.
+     * @param constraintType The name of the ConstraintType.
+     * @param constraintValue The value used by the ConstraintType.
+     * @return The ConstraintCheck.
+     */
+    protected static ConstraintCheck constraint(String constraintType, String constraintValue) {
+        return new ConstraintCheck(constraintType, constraintValue);
+    }
+
+    @Override
+    public String toString() {
+        return msg.toString();
+    }
+
+    /**
+     * A constraint that has been compiled by its ConstraintType.
+     */
+    protected static final class ConstraintCheck {
+
+        private final String typeName;
+
+        private final CompiledConstraint compiled;
+
+        private ConstraintCheck(String typeName, String constraintValue) {
+            this.typeName = typeName;
+            ConstraintType constraintType = ConstraintPlugins.getInstance().findByName(typeName);
+            this.compiled = constraintType != null ? constraintType.compile(constraintValue) : null;
+        }
+
+        private void validate(String name, String value, StringBuilder errors) {
+            if (compiled == null) {
+                appendNewline(errors);
+                errors.append("Unable to locate constraint type ")
+                        .append(typeName)
+                        .append(" for key ")
+                        .append(name);
+                return;
+            }
+            compiled.validate(false, name, value, errors);
+        }
+    }
+}
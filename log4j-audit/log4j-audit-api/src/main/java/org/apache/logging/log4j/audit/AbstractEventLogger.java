@@ -16,22 +16,16 @@
  */
 package org.apache.logging.log4j.audit;
 
-import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import org.apache.logging.log4j.ThreadContext;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.audit.catalog.CatalogManager;
+import org.apache.logging.log4j.audit.catalog.EventValidationPlan;
 import org.apache.logging.log4j.audit.exception.AuditException;
-import org.apache.logging.log4j.audit.exception.ConstraintValidationException;
-import org.apache.logging.log4j.catalog.api.Attribute;
-import org.apache.logging.log4j.catalog.api.Constraint;
-import org.apache.logging.log4j.catalog.api.Event;
-import org.apache.logging.log4j.catalog.api.EventAttribute;
-import org.apache.logging.log4j.catalog.api.plugins.ConstraintPlugins;
+import org.apache.logging.log4j.audit.metrics.AuditMetrics;
+import org.apache.logging.log4j.audit.metrics.AuditMetricsRegistry;
 import org.apache.logging.log4j.message.StructuredDataMessage;
 
 /**
@@ -41,8 +35,6 @@ public abstract class AbstractEventLogger {
 
     private static final int DEFAULT_MAX_LENGTH = 32;
 
-    private static final ConstraintPlugins constraintPlugins = ConstraintPlugins.getInstance();
-
     public CatalogManager catalogManager;
 
     private static final AuditExceptionHandler DEFAULT_EXCEPTION_HANDLER = (message, ex) -> {
@@ -51,10 +43,16 @@ public abstract class AbstractEventLogger {
 
     private static final AuditExceptionHandler NOOP_EXCEPTION_HANDLER = (message, ex) -> {};
 
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 30000;
+
     private AuditExceptionHandler defaultAuditExceptionHandler = DEFAULT_EXCEPTION_HANDLER;
 
     private final int maxLength;
 
+    private volatile AsyncEventDispatcher asyncDispatcher;
+
+    private volatile boolean reuseMessages;
+
     protected AbstractEventLogger() {
         maxLength = DEFAULT_MAX_LENGTH;
     }
@@ -75,6 +73,83 @@ public abstract class AbstractEventLogger {
         defaultAuditExceptionHandler = auditExceptionHandler == null ? NOOP_EXCEPTION_HANDLER : auditExceptionHandler;
     }
 
+    /**
+     * Reuses the AuditMessage used to log an event once it has been written, instead of allocating a new one for
+     * every event. This may only be enabled when the appenders have finished with a message when the call to log it
+     * returns, so it must not be combined with asynchronous loggers or appenders or with an AuditExceptionHandler
+     * that keeps a reference to the message. Messages are not reused while asynchronous logging is enabled with
+     * {@link #enableAsync(int, BackpressurePolicy)}, since they are released on the background thread.
+     * @param reuseMessages true if messages should be reused.
+     */
+    public void setReuseMessages(boolean reuseMessages) {
+        this.reuseMessages = reuseMessages;
+    }
+
+    public boolean isReuseMessages() {
+        return reuseMessages;
+    }
+
+    /**
+     * Writes events on a background thread instead of the calling thread. Events are still validated on the
+     * calling thread, so a ConstraintValidationException is thrown to the caller as before.
+     * @param bufferSize The maximum number of events waiting to be written.
+     * @param policy What to do when the buffer is full.
+     */
+    public synchronized void enableAsync(int bufferSize, BackpressurePolicy policy) {
+        if (asyncDispatcher != null) {
+            throw new IllegalStateException("Asynchronous logging is already enabled");
+        }
+        asyncDispatcher = new AsyncEventDispatcher(this, bufferSize, policy);
+    }
+
+    public boolean isAsync() {
+        return asyncDispatcher != null;
+    }
+
+    /**
+     * Returns the number of events discarded because the buffer was full and the policy is
+     * {@link BackpressurePolicy#DROP}.
+     * @return The number of dropped events.
+     */
+    public long getDroppedEventCount() {
+        AsyncEventDispatcher dispatcher = asyncDispatcher;
+        return dispatcher != null ? dispatcher.getDroppedCount() : 0;
+    }
+
+    /**
+     * Waits for the events logged before this method was called to be written.
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     * @return true if all the events were written.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        AsyncEventDispatcher dispatcher = asyncDispatcher;
+        return dispatcher == null || dispatcher.flush(timeout, unit);
+    }
+
+    /**
+     * Writes the events that have been logged asynchronously, in order, and stops the background thread. Events
+     * logged afterwards are written on the calling thread.
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     * @return true if all the events were written.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public synchronized boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        AsyncEventDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher == null) {
+            return true;
+        }
+        boolean flushed = dispatcher.shutdown(timeout, unit);
+        asyncDispatcher = null;
+        return flushed;
+    }
+
+    public boolean shutdown() throws InterruptedException {
+        return shutdown(DEFAULT_SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
     public void logEvent(String eventName, Map<String, String> attributes) {
         logEvent(eventName, null, attributes, defaultAuditExceptionHandler);
     }
@@ -92,158 +167,99 @@ public abstract class AbstractEventLogger {
             String catalogId,
             Map<String, String> attributes,
             AuditExceptionHandler exceptionHandler) {
-        Event event =
-                catalogId == null ? catalogManager.getEvent(eventName) : catalogManager.getEvent(eventName, catalogId);
-        if (event == null) {
+        EventValidationPlan plan = catalogId == null
+                ? catalogManager.getValidationPlan(eventName)
+                : catalogManager.getValidationPlan(eventName, catalogId);
+        if (plan == null) {
             throw new AuditException("Unable to locate definition of audit event " + eventName);
         }
-        logEvent(eventName, attributes, event, exceptionHandler);
+        logEvent(eventName, attributes, plan, exceptionHandler);
     }
 
     protected abstract void logEvent(StructuredDataMessage message);
 
     private void logEvent(
-            String eventName, Map<String, String> attributes, Event event, AuditExceptionHandler exceptionHandler) {
-        AuditMessage msg = new AuditMessage(eventName, maxLength);
-
+            String eventName,
+            Map<String, String> attributes,
+            EventValidationPlan plan,
+            AuditExceptionHandler exceptionHandler) {
         if (attributes == null) {
             attributes = emptyMap();
         }
 
-        StringBuilder missingAttributes = new StringBuilder();
-        StringBuilder errors = new StringBuilder();
-
-        List<EventAttribute> eventAttributes = event.getAttributes() == null ? emptyList() : event.getAttributes();
-        for (EventAttribute eventAttribute : eventAttributes) {
-            Attribute attr = catalogManager.getAttribute(eventAttribute.getName(), event.getCatalogId());
-            if ((!attr.isRequestContext() && (attr.isRequired())
-                    || (eventAttribute.isRequired() != null && eventAttribute.isRequired()))) {
-                String name = attr.getName();
-                if (!attributes.containsKey(name)) {
-                    if (missingAttributes.length() > 0) {
-                        missingAttributes.append(", ");
-                    }
-                    missingAttributes.append(name);
-                } else {
-                    if (attr.getConstraints() != null && attr.getConstraints().size() > 0) {
-                        validateConstraints(false, attr.getConstraints(), name, attributes.get(name), errors);
-                    }
-                }
-            }
-        }
-        Map<String, Attribute> attributeMap = catalogManager.getAttributes(eventName, event.getCatalogId());
-        for (String name : attributes.keySet()) {
-            if (!attributeMap.containsKey(name) && !name.equals("completionStatus")) {
-                if (errors.length() > 0) {
-                    errors.append("\n");
-                }
-                errors.append("Attribute ")
-                        .append(name)
-                        .append(" is not defined for ")
-                        .append(eventName);
-            }
-        }
-        if (missingAttributes.length() > 0) {
-            if (errors.length() > 0) {
-                errors.append("\n");
-            }
-            errors.append("Event ")
-                    .append(eventName)
-                    .append(" is missing required attribute(s) ")
-                    .append(missingAttributes.toString());
-        }
-        if (errors.length() > 0) {
-            throw new ConstraintValidationException(errors.toString());
-        }
-        List<String> attributeNames = catalogManager.getAttributeNames(eventName, event.getCatalogId());
-        StringBuilder buf = new StringBuilder();
-        for (String attribute : attributes.keySet()) {
-            if (!attributeNames.contains(attribute)) {
-                if (buf.length() > 0) {
-                    buf.append(", ");
-                }
-                buf.append(attribute);
-            }
-        }
-        if (buf.length() > 0) {
-            throw new ConstraintValidationException(
-                    "Event " + eventName + " contains invalid attribute(s) " + buf.toString());
+        AuditMetrics metrics = AuditMetricsRegistry.getMetrics();
+        if (!metrics.isEnabled()) {
+            plan.validate(eventName, attributes);
+            logEvent(eventName, attributes, exceptionHandler, null);
+            return;
         }
 
-        List<String> reqCtxAttrs = catalogManager.getRequiredContextAttributes(eventName, event.getCatalogId());
-        if (reqCtxAttrs != null && !reqCtxAttrs.isEmpty()) {
-            StringBuilder sb = new StringBuilder();
-            for (String attr : reqCtxAttrs) {
-                if (!ThreadContext.containsKey(attr)) {
-                    if (sb.length() > 0) {
-                        sb.append(", ");
-                    }
-                    sb.append(attr);
-                }
-            }
-            if (sb.length() > 0) {
-                throw new ConstraintValidationException("Event " + msg.getId().getName()
-                        + " is missing required RequestContextMapping values for " + sb.toString());
-            }
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            plan.validate(eventName, attributes);
+            valid = true;
+        } finally {
+            metrics.validated(eventName, System.nanoTime() - start, valid);
         }
+        logEvent(eventName, attributes, exceptionHandler, metrics);
+    }
 
-        Map<String, Attribute> reqCtxAttributes = catalogManager.getRequestContextAttributes();
-        for (Map.Entry<String, Attribute> entry : reqCtxAttributes.entrySet()) {
-            Attribute attribute = entry.getValue();
-            String attr = entry.getKey();
-            if (attribute.isRequired() && !ThreadContext.containsKey(attr)) {
-                if (errors.length() > 0) {
-                    errors.append(", ");
-                }
-                errors.append(attr);
-            }
+    private void logEvent(
+            String eventName,
+            Map<String, String> attributes,
+            AuditExceptionHandler exceptionHandler,
+            AuditMetrics metrics) {
+        long start = metrics != null ? System.nanoTime() : 0;
+        AsyncEventDispatcher dispatcher = asyncDispatcher;
+        AuditMessage msg = reuseMessages && dispatcher == null
+                ? AuditMessagePool.acquire(eventName, maxLength)
+                : new AuditMessage(eventName, maxLength);
+        msg.putAll(attributes);
+        if (dispatcher != null && dispatcher.dispatch(msg, exceptionHandler)) {
+            return;
         }
-        if (errors.length() > 0) {
-            throw new ConstraintValidationException(
-                    "Event " + eventName + " is missing required Thread Context values for " + errors.toString());
+        try {
+            write(msg, exceptionHandler, metrics, start);
+        } finally {
+            AuditMessagePool.release(msg);
         }
+    }
 
-        for (Map.Entry<String, Attribute> entry : reqCtxAttributes.entrySet()) {
-            Attribute attribute = reqCtxAttributes.get(entry.getKey());
-            if (!ThreadContext.containsKey(entry.getKey())) {
-                continue;
-            }
-            Set<Constraint> constraintList = attribute.getConstraints();
-            if (constraintList != null && constraintList.size() > 0) {
-                validateConstraints(true, constraintList, entry.getKey(), ThreadContext.get(entry.getKey()), errors);
-            }
-        }
-        if (errors.length() > 0) {
-            throw new ConstraintValidationException(
-                    "Event " + eventName + " has incorrect data in the Thread Context: " + errors.toString());
+    /**
+     * Writes an event that was logged asynchronously.
+     */
+    void write(AuditMessage msg, AuditExceptionHandler exceptionHandler) {
+        AuditMetrics metrics = AuditMetricsRegistry.getMetrics();
+        if (metrics.isEnabled()) {
+            write(msg, exceptionHandler, metrics, System.nanoTime());
+        } else {
+            write(msg, exceptionHandler, null, 0);
         }
+    }
 
-        msg.putAll(attributes);
+    private void write(AuditMessage msg, AuditExceptionHandler exceptionHandler, AuditMetrics metrics, long start) {
         try {
             logEvent(msg);
-        } catch (Throwable ex) {
-            if (exceptionHandler == null) {
-                defaultAuditExceptionHandler.handleException(msg, ex);
-            } else {
-                exceptionHandler.handleException(msg, ex);
+            if (metrics != null) {
+                metrics.logged(msg.getId().getName(), System.nanoTime() - start);
             }
+        } catch (Throwable ex) {
+            handleException(msg, ex, exceptionHandler, metrics);
         }
     }
 
-    private static void validateConstraints(
-            boolean isRequestContext,
-            Collection<Constraint> constraints,
-            String name,
-            String value,
-            StringBuilder errors) {
-        for (Constraint constraint : constraints) {
-            constraintPlugins.validateConstraint(
-                    isRequestContext,
-                    constraint.getConstraintType().getName(),
-                    name,
-                    value,
-                    constraint.getValue(),
-                    errors);
+    void handleException(AuditMessage msg, Throwable ex, AuditExceptionHandler exceptionHandler, AuditMetrics metrics) {
+        if (metrics == null) {
+            metrics = AuditMetricsRegistry.getMetrics();
+        }
+        if (metrics.isEnabled()) {
+            metrics.handlerInvoked(msg.getId().getName());
+        }
+        if (exceptionHandler == null) {
+            defaultAuditExceptionHandler.handleException(msg, ex);
+        } else {
+            exceptionHandler.handleException(msg, ex);
         }
     }
 }
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.exception.AuditException;
+
+/**
+ * Writes the events of an AbstractEventLogger on a dedicated thread. Events are held in a bounded buffer and are
+ * written in the order they were accepted. The ThreadContext of the calling thread is captured with each event
+ * and restored while the event is written.
+ */
+final class AsyncEventDispatcher {
+
+    private static final Logger LOGGER = LogManager.getLogger(AsyncEventDispatcher.class);
+
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private static final long OFFER_TIMEOUT_MILLIS = 10;
+
+    /**
+     * Queued by shutdown behind the last event to tell the consumer to exit.
+     */
+    private static final Entry STOP = new Entry(null, null, null);
+
+    private final AbstractEventLogger eventLogger;
+
+    private final BackpressurePolicy policy;
+
+    private final BlockingQueue<Entry> queue;
+
+    private final Thread consumer;
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * The number of threads queuing an event. Shutdown waits for them before it writes the last queued events.
+     */
+    private final AtomicInteger producers = new AtomicInteger();
+
+    private volatile boolean running = true;
+
+    AsyncEventDispatcher(AbstractEventLogger eventLogger, int bufferSize, BackpressurePolicy policy) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be greater than zero");
+        }
+        this.eventLogger = eventLogger;
+        this.policy = policy == null ? BackpressurePolicy.BLOCK : policy;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.consumer = new Thread(this::run, eventLogger.getClass().getSimpleName() + "-AsyncDispatcher");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Queues an event to be written.
+     * @return false if the dispatcher has been stopped and the event was not queued.
+     */
+    boolean dispatch(AuditMessage msg, AuditExceptionHandler handler) {
+        producers.incrementAndGet();
+        try {
+            if (!running) {
+                return false;
+            }
+            Entry entry = new Entry(msg, handler, ThreadContext.getImmutableContext());
+            switch (policy) {
+                case BLOCK:
+                    return put(entry);
+                case DROP:
+                    if (!queue.offer(entry)) {
+                        dropped.increment();
+                        AuditMessagePool.release(msg);
+                    }
+                    return true;
+                default:
+                    if (!queue.offer(entry)) {
+                        try {
+                            eventLogger.handleException(
+                                    msg, new AuditException("The audit event buffer is full"), handler, null);
+                        } finally {
+                            AuditMessagePool.release(msg);
+                        }
+                    }
+                    return true;
+            }
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Waits for space in the buffer, giving up if the dispatcher is stopped while waiting.
+     */
+    private boolean put(Entry entry) {
+        try {
+            while (!queue.offer(entry, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AuditException(
+                    "Interrupted while logging event " + entry.msg.getId().getName(), ex);
+        }
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits for the events queued before this method was called to be written.
+     * @return true if the events were written before the timeout expired.
+     */
+    boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Entry marker = new Entry(null, null, null);
+        if (!queue.offer(marker, timeout, unit)) {
+            return false;
+        }
+        return marker.written.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops accepting events and waits for the events already queued to be written, in order. The consumer is
+     * asked to stop with a marker queued behind the last event, rather than interrupted, so that an appender is
+     * never interrupted in the middle of a write.
+     * @return true if all the events were written before the timeout expired.
+     */
+    boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        running = false;
+        // Threads that saw the dispatcher running either queue their event or give up within the offer timeout.
+        while (producers.get() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+        if (!queue.offer(STOP, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        consumer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        if (consumer.isAlive()) {
+            return false;
+        }
+        // Events queued behind the marker by a producer that outlasted the wait are written on the calling thread.
+        List<Entry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            Map<String, String> context = ThreadContext.getImmutableContext();
+            try {
+                for (Entry entry : remaining) {
+                    write(entry);
+                }
+            } finally {
+                ThreadContext.clearMap();
+                ThreadContext.putAll(context);
+            }
+        }
+        return true;
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        boolean stopped = false;
+        try {
+            while (!stopped) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                for (Entry entry : batch) {
+                    if (entry == STOP) {
+                        stopped = true;
+                    } else {
+                        write(entry);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ThreadContext.clearMap();
+        }
+    }
+
+    private void write(Entry entry) {
+        if (entry.msg == null) {
+            entry.written.countDown();
+            return;
+        }
+        ThreadContext.clearMap();
+        ThreadContext.putAll(entry.context);
+        try {
+            eventLogger.write(entry.msg, entry.handler);
+        } catch (Throwable ex) {
+            LOGGER.error("Unable to log event {}", entry.msg.getId().getName(), ex);
+        } finally {
+            AuditMessagePool.release(entry.msg);
+        }
+    }
+
+    private static final class Entry {
+        private final AuditMessage msg;
+        private final AuditExceptionHandler handler;
+        private final Map<String, String> context;
+        private final CountDownLatch written;
+
+        private Entry(AuditMessage msg, AuditExceptionHandler handler, Map<String, String> context) {
+            this.msg = msg;
+            this.handler = handler;
+            this.context = context;
+            this.written = msg == null ? new CountDownLatch(1) : null;
+        }
+    }
+}
@@ -16,8 +16,11 @@
  */
 package org.apache.logging.log4j.audit;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.logging.log4j.message.StructuredDataId;
 import org.apache.logging.log4j.message.StructuredDataMessage;
 
@@ -28,8 +31,17 @@ public class AuditMessage extends StructuredDataMessage {
 
     private static final int MAX_LENGTH = 32;
 
+    private static final ConcurrentMap<Integer, ConcurrentMap<String, AuditId>> AUDIT_IDS = new ConcurrentHashMap<>();
+
     private final Map<String, StructuredDataMessage> extraContent = new HashMap<>();
 
+    private final Map<String, StructuredDataMessage> content = Collections.unmodifiableMap(extraContent);
+
+    /**
+     * True if the message was obtained from the AuditMessagePool and is returned to it once it has been logged.
+     */
+    boolean reusable;
+
     public AuditMessage(String eventName) {
         this(eventName, MAX_LENGTH);
     }
@@ -44,6 +56,38 @@ public class AuditMessage extends StructuredDataMessage {
         extraContent.put(name, message);
     }
 
+    /**
+     * Returns the nested content added to the message.
+     * @return An unmodifiable Map of the content, keyed by name.
+     */
+    public Map<String, StructuredDataMessage> getContent() {
+        return content;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        extraContent.clear();
+    }
+
+    /**
+     * Changes the event this message represents. The AuditIds are cached so that a reused message can be
+     * assigned to an event without allocating.
+     * @param eventName The name of the event.
+     * @param maxLength The maximum length of the event name.
+     */
+    void setEventName(String eventName, int maxLength) {
+        ConcurrentMap<String, AuditId> ids = AUDIT_IDS.get(maxLength);
+        if (ids == null) {
+            ids = AUDIT_IDS.computeIfAbsent(maxLength, length -> new ConcurrentHashMap<>());
+        }
+        AuditId id = ids.get(eventName);
+        if (id == null) {
+            id = ids.computeIfAbsent(eventName, name -> new AuditId(name, maxLength));
+        }
+        setId(id);
+    }
+
     private static class AuditId extends StructuredDataId {
 
         AuditId(String eventName, int maxLength) {
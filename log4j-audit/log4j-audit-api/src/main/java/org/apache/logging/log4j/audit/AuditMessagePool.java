@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit;
+
+/**
+ * Reuses AuditMessages so events can be logged without allocating a new message, and the maps it contains, for
+ * every event. As with Log4j's own garbage-free logging each thread keeps its own message, so a message must not
+ * be referenced once it has been logged. This means the mode must not be combined with asynchronous loggers or
+ * appenders, or with AuditExceptionHandlers that keep a reference to the message, and it should not be used in
+ * web applications since the ThreadLocal would prevent the application from being unloaded. A message is cached by
+ * the thread that releases it, so messages written by the AsyncEventDispatcher are not taken from the pool.
+ */
+final class AuditMessagePool {
+
+    private static final ThreadLocal<AuditMessage> MESSAGES = new ThreadLocal<>();
+
+    private AuditMessagePool() {}
+
+    /**
+     * Returns the message cached by the current thread, or a new message if it is in use.
+     * @param eventName The name of the event.
+     * @param maxLength The maximum length of the event name.
+     * @return An empty AuditMessage for the event.
+     */
+    static AuditMessage acquire(String eventName, int maxLength) {
+        AuditMessage msg = MESSAGES.get();
+        if (msg == null) {
+            msg = new AuditMessage(eventName, maxLength);
+            msg.reusable = true;
+        } else {
+            MESSAGES.set(null);
+            msg.setEventName(eventName, maxLength);
+        }
+        return msg;
+    }
+
+    /**
+     * Clears a message that has been logged and caches it for reuse by the current thread. Messages that were
+     * not obtained from the pool are ignored.
+     * @param msg The AuditMessage.
+     */
+    static void release(AuditMessage msg) {
+        if (msg.reusable) {
+            msg.clear();
+            if (MESSAGES.get() == null) {
+                MESSAGES.set(msg);
+            }
+        }
+    }
+}
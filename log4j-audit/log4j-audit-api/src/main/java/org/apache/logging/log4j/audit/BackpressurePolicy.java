@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit;
+
+/**
+ * Determines what happens when an event is logged asynchronously and the buffer holding the events waiting to be
+ * written is full.
+ */
+public enum BackpressurePolicy {
+    /**
+     * The calling thread waits until there is room in the buffer.
+     */
+    BLOCK,
+    /**
+     * The event is discarded and the count of dropped events is incremented.
+     */
+    DROP,
+    /**
+     * The event is passed to the AuditExceptionHandler along with an AuditException.
+     */
+    HANDLE
+}
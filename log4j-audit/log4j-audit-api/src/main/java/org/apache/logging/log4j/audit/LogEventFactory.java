@@ -19,6 +19,9 @@ package org.apache.logging.log4j.audit;
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.appendNewline;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -26,9 +29,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import org.apache.commons.lang3.StringUtils;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
@@ -41,6 +45,8 @@ import org.apache.logging.log4j.audit.annotation.RequestContextConstraints;
 import org.apache.logging.log4j.audit.annotation.Required;
 import org.apache.logging.log4j.audit.exception.AuditException;
 import org.apache.logging.log4j.audit.exception.ConstraintValidationException;
+import org.apache.logging.log4j.audit.metrics.AuditMetrics;
+import org.apache.logging.log4j.audit.metrics.AuditMetricsRegistry;
 import org.apache.logging.log4j.audit.util.NamingUtils;
 import org.apache.logging.log4j.catalog.api.plugins.ConstraintPlugins;
 import org.apache.logging.log4j.message.StructuredDataMessage;
@@ -65,20 +71,54 @@ public class LogEventFactory {
 
     private static AuditExceptionHandler defaultExceptionHandler = DEFAULT_HANDLER;
 
+    private static volatile boolean reuseMessages;
+
     private static final ConcurrentMap<Class<?>, List<Property>> classMap = new ConcurrentHashMap<>();
 
+    private static final ConcurrentMap<Class<?>, Optional<Supplier<? extends AuditEvent>>> implementationMap =
+            new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Class<?>, String> eventNameMap = new ConcurrentHashMap<>();
+
+    private static final String IMPLEMENTATION_SUFFIX = "Impl";
+
     private static final ConstraintPlugins constraintPlugins = ConstraintPlugins.getInstance();
 
     public static void setDefaultHandler(AuditExceptionHandler exceptionHandler) {
         defaultExceptionHandler = (exceptionHandler == null) ? NOOP_EXCEPTION_HANDLER : exceptionHandler;
     }
 
+    /**
+     * Reuses the AuditMessage of an Event once the Event has been logged, instead of allocating a new one for every
+     * Event. When enabled an Event must not be used after its logEvent method has been called. This may only be
+     * enabled when the appenders have finished with a message when the call to log it returns, so it must not be
+     * combined with asynchronous loggers or appenders or with an AuditExceptionHandler that keeps a reference to
+     * the message.
+     * @param reuse true if messages should be reused.
+     */
+    public static void setReuseMessages(boolean reuse) {
+        reuseMessages = reuse;
+    }
+
+    public static boolean isReuseMessages() {
+        return reuseMessages;
+    }
+
     static void resetDefaultHandler() {
         defaultExceptionHandler = DEFAULT_HANDLER;
     }
 
+    static AuditExceptionHandler getDefaultHandler() {
+        return defaultExceptionHandler;
+    }
+
+    static AuditExceptionHandler getNoopHandler() {
+        return NOOP_EXCEPTION_HANDLER;
+    }
+
     /**
-     * Constructs an Event object from its interface.
+     * Constructs an Event object from its interface. If the InterfacesGenerator generated an implementation
+     * of the interface it will be used, otherwise a Proxy is created for the interface.
      * @param intrface The Event interface.
      * @param <T> The Event type.
      * @return Returns an instance of the Event.
@@ -86,6 +126,11 @@ public class LogEventFactory {
     @SuppressWarnings("unchecked")
     public static <T extends AuditEvent> T getEvent(Class<T> intrface) {
 
+        Supplier<? extends AuditEvent> implementation = getImplementation(intrface);
+        if (implementation != null) {
+            return (T) implementation.get();
+        }
+
         Class<?>[] interfaces = new Class<?>[] {intrface};
 
         AuditMessage msg = buildAuditMessage(intrface);
@@ -95,7 +140,69 @@ public class LogEventFactory {
         return (T) audit;
     }
 
+    /**
+     * Locates the implementation class generated for the interface. The result, including the absence of an
+     * implementation, is cached so the class is only searched for once.
+     * @param intrface The Event interface.
+     * @return A Supplier of instances of the generated implementation or null if there is none.
+     */
+    private static Supplier<? extends AuditEvent> getImplementation(Class<?> intrface) {
+        Optional<Supplier<? extends AuditEvent>> implementation = implementationMap.get(intrface);
+        if (implementation == null) {
+            implementation = implementationMap.computeIfAbsent(intrface, LogEventFactory::findImplementation);
+        }
+        return implementation.orElse(null);
+    }
+
+    private static Optional<Supplier<? extends AuditEvent>> findImplementation(Class<?> intrface) {
+        String className = intrface.getName() + IMPLEMENTATION_SUFFIX;
+        try {
+            Class<?> clazz = Class.forName(className, true, intrface.getClassLoader());
+            if (intrface.isAssignableFrom(clazz) && AbstractAuditEvent.class.isAssignableFrom(clazz)) {
+                return Optional.of(newSupplier(intrface, clazz));
+            }
+            logger.warn(
+                    "{} does not extend {} and implement {}",
+                    className,
+                    AbstractAuditEvent.class.getName(),
+                    intrface.getName());
+        } catch (ClassNotFoundException ex) {
+            logger.debug("No generated implementation of {} is available", intrface.getName());
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            logger.warn("{} does not have a public no-arg constructor", className);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Binds the no-arg constructor of the implementation once, so creating an Event does not go through
+     * reflection.
+     */
+    private static Supplier<AuditEvent> newSupplier(Class<?> intrface, Class<?> clazz)
+            throws NoSuchMethodException, IllegalAccessException {
+        MethodHandle constructor = MethodHandles.publicLookup()
+                .findConstructor(clazz, MethodType.methodType(void.class))
+                .asType(MethodType.methodType(AuditEvent.class));
+        return () -> {
+            try {
+                return (AuditEvent) constructor.invokeExact();
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new AuditException("Unable to create implementation of " + intrface.getName(), ex);
+            }
+        };
+    }
+
     private static String getEventName(Class<?> intrface) {
+        String eventName = eventNameMap.get(intrface);
+        if (eventName == null) {
+            eventName = eventNameMap.computeIfAbsent(intrface, LogEventFactory::findEventName);
+        }
+        return eventName;
+    }
+
+    private static String findEventName(Class<?> intrface) {
         EventName eventName = intrface.getAnnotation(EventName.class);
         return eventName != null ? eventName.value() : NamingUtils.lowerFirst(intrface.getSimpleName());
     }
@@ -105,9 +212,12 @@ public class LogEventFactory {
         return maxLength == null ? DEFAULT_MAX_LENGTH : maxLength.value();
     }
 
-    private static AuditMessage buildAuditMessage(Class<?> intrface) {
+    static AuditMessage buildAuditMessage(Class<?> intrface) {
         String eventName = getEventName(intrface);
         int msgLength = getMaxLength(intrface);
+        if (reuseMessages) {
+            return AuditMessagePool.acquire(eventName, msgLength);
+        }
         return new AuditMessage(eventName, msgLength);
     }
 
@@ -138,11 +248,31 @@ public class LogEventFactory {
             }
         }
 
-        validateEvent(intrface, msg);
-        logEvent(msg, handler);
+        try {
+            validateEvent(intrface, msg);
+            logEvent(msg, handler);
+        } finally {
+            AuditMessagePool.release(msg);
+        }
     }
 
     private static void validateEvent(Class<?> intrface, AuditMessage msg) {
+        AuditMetrics metrics = AuditMetricsRegistry.getMetrics();
+        if (!metrics.isEnabled()) {
+            checkEvent(intrface, msg);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            checkEvent(intrface, msg);
+            valid = true;
+        } finally {
+            metrics.validated(msg.getId().getName(), System.nanoTime() - start, valid);
+        }
+    }
+
+    private static void checkEvent(Class<?> intrface, AuditMessage msg) {
         StringBuilder errors = new StringBuilder();
         validateContextConstraints(intrface, errors);
 
@@ -187,17 +317,69 @@ public class LogEventFactory {
      * @param handler Class that gets control when an exception occurs logging the event.
      */
     public static void logEvent(AuditMessage msg, AuditExceptionHandler handler) {
-        runMessageAction(() -> AUDIT_LOGGER.logEvent(msg), msg, handler);
+        AuditMetrics metrics = AuditMetricsRegistry.getMetrics();
+        if (!metrics.isEnabled()) {
+            runMessageAction(() -> AUDIT_LOGGER.logEvent(msg), msg, handler);
+            return;
+        }
+        long start = System.nanoTime();
+        runMessageAction(
+                () -> {
+                    AUDIT_LOGGER.logEvent(msg);
+                    metrics.logged(msg.getId().getName(), System.nanoTime() - start);
+                },
+                msg,
+                handler);
+    }
+
+    /**
+     * Validates the AuditMessage against the Event interface and then logs it.
+     * @param intrface The Event interface.
+     * @param msg The AuditMessage.
+     * @param handler Class that gets control when an exception occurs validating or logging the event.
+     */
+    static void validateAndLogEvent(Class<?> intrface, AuditMessage msg, AuditExceptionHandler handler) {
+        try {
+            runMessageAction(() -> validateEvent(intrface, msg), msg, handler);
+            logEvent(msg, handler);
+        } finally {
+            AuditMessagePool.release(msg);
+        }
     }
 
     private static void runMessageAction(Runnable action, AuditMessage msg, AuditExceptionHandler handler) {
         try {
             action.run();
         } catch (Throwable ex) {
-            if (handler == null) {
-                handler = defaultExceptionHandler;
-            }
-            handler.handleException(msg, ex);
+            handleException(msg, ex, handler);
+        }
+    }
+
+    static void handleException(AuditMessage msg, Throwable ex, AuditExceptionHandler handler) {
+        AuditMetrics metrics = AuditMetricsRegistry.getMetrics();
+        if (metrics.isEnabled()) {
+            metrics.handlerInvoked(msg.getId().getName());
+        }
+        if (handler == null) {
+            handler = defaultExceptionHandler;
+        }
+        handler.handleException(msg, ex);
+    }
+
+    /**
+     * Adds a validated attribute value to the AuditMessage.
+     * @param msg The AuditMessage.
+     * @param name The attribute name.
+     * @param value The attribute value.
+     */
+    @SuppressWarnings("unchecked")
+    static void putProperty(AuditMessage msg, String name, Object value) {
+        if (value instanceof Map) {
+            StructuredDataMessage extra = new StructuredDataMessage(name, null, null);
+            extra.putAll((Map) value);
+            msg.addContent(name, extra);
+        } else {
+            msg.put(name, value.toString());
         }
     }
 
@@ -288,10 +470,7 @@ public class LogEventFactory {
             }
 
             if (method.getName().equals("logEvent")) {
-
-                runMessageAction(() -> validateEvent(intrface, msg), msg, auditExceptionHandler);
-
-                logEvent(msg, auditExceptionHandler);
+                validateAndLogEvent(intrface, msg, auditExceptionHandler);
                 return null;
             }
 
@@ -324,7 +503,6 @@ public class LogEventFactory {
             return null;
         }
 
-        @SuppressWarnings("unchecked")
         private void setProperty(Method method, Object[] objects) {
             String name = NamingUtils.lowerFirst(NamingUtils.getMethodShortName(method.getName()));
             if (objects == null || objects[0] == null) {
@@ -352,19 +530,7 @@ public class LogEventFactory {
                 throw new ConstraintValidationException(errors.toString());
             }
 
-            String result;
-            if (objects[0] instanceof List) {
-                result = StringUtils.join(objects, ", ");
-            } else if (objects[0] instanceof Map) {
-                StructuredDataMessage extra = new StructuredDataMessage(name, null, null);
-                extra.putAll((Map) objects[0]);
-                msg.addContent(name, extra);
-                return;
-            } else {
-                result = objects[0].toString();
-            }
-
-            msg.put(name, result);
+            putProperty(msg, name, objects[0]);
         }
     }
 
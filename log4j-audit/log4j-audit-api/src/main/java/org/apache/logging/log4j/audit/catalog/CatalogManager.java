@@ -59,4 +59,29 @@ public interface CatalogManager {
     }
 
     Attribute getAttribute(String attributeName, String catalogId);
+
+    default EventValidationPlan getValidationPlan(String eventName) {
+        return getValidationPlan(eventName, DEFAULT_CATALOG);
+    }
+
+    /**
+     * Returns the validations to perform when the Event is logged. Implementations should cache the plan and
+     * only rebuild it when the catalog changes.
+     * @param eventName The name of the Event.
+     * @param catalogId The catalog id.
+     * @return The EventValidationPlan or null if the Event does not exist.
+     */
+    default EventValidationPlan getValidationPlan(String eventName, String catalogId) {
+        Event event = getEvent(eventName, catalogId);
+        if (event == null) {
+            return null;
+        }
+        String eventCatalogId = event.getCatalogId();
+        return new EventValidationPlan(
+                event,
+                name -> getAttribute(name, eventCatalogId),
+                getAttributeNames(eventName, eventCatalogId),
+                getRequiredContextAttributes(eventName, eventCatalogId),
+                getRequestContextAttributes());
+    }
 }
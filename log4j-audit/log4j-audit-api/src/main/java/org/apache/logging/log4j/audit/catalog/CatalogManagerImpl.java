@@ -19,23 +19,23 @@ package org.apache.logging.log4j.audit.catalog;
 import static java.util.Collections.emptyList;
 import static org.apache.logging.log4j.catalog.api.constant.Constants.DEFAULT_CATALOG;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.audit.catalog.CatalogSnapshot.EventInfo;
 import org.apache.logging.log4j.audit.exception.AuditException;
-import org.apache.logging.log4j.audit.util.NamingUtils;
 import org.apache.logging.log4j.catalog.api.Attribute;
 import org.apache.logging.log4j.catalog.api.CatalogData;
+import org.apache.logging.log4j.catalog.api.CatalogDiff;
 import org.apache.logging.log4j.catalog.api.CatalogReader;
 import org.apache.logging.log4j.catalog.api.Event;
 import org.apache.logging.log4j.catalog.api.EventAttribute;
+import org.apache.logging.log4j.catalog.api.dao.WatchingFileCatalogReader;
+import org.apache.logging.log4j.catalog.api.util.CatalogObjectMappers;
 
 /**
  *
@@ -44,51 +44,94 @@ public class CatalogManagerImpl implements CatalogManager {
 
     private static final Logger logger = LogManager.getLogger(CatalogManagerImpl.class);
 
-    private volatile Map<String, Map<String, CatalogInfo>> infoMap;
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
 
-    private final Map<String, Attribute> requestContextAttributes = new HashMap<>();
-
-    protected final Map<String, Map<String, Attribute>> attributeMap = new ConcurrentHashMap<>();
-
-    private static final String REQCTX = "ReqCtx_";
-
-    protected CatalogData catalogData;
+    /**
+     * The catalog most recently loaded. It is replaced by the thread that watches the catalog file, so it is volatile
+     * to publish the new catalog to the threads that read it.
+     */
+    protected volatile CatalogData catalogData;
 
     public CatalogManagerImpl(CatalogReader catalogReader) {
         try {
-            infoMap = initializeData(catalogReader);
+            snapshot.set(initializeData(catalogReader));
         } catch (Exception ex) {
             throw new AuditException("Unable to initialize catalog data", ex);
         }
+        if (catalogReader instanceof WatchingFileCatalogReader) {
+            ((WatchingFileCatalogReader) catalogReader).addListener(this::catalogChanged);
+        }
+    }
+
+    /**
+     * Returns the current view of the catalog.
+     * @return The CatalogSnapshot.
+     */
+    protected CatalogSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Replaces the current view of the catalog. The update function may be called more than once if another
+     * thread modifies the catalog at the same time, so it must not have side effects.
+     * @param update Creates the new CatalogSnapshot from the current one.
+     */
+    protected void updateSnapshot(UnaryOperator<CatalogSnapshot> update) {
+        snapshot.updateAndGet(update);
+    }
+
+    /**
+     * Adds or replaces an Event.
+     * @param event The Event.
+     */
+    protected void addEvent(Event event) {
+        updateSnapshot(current -> current.withEvent(event));
     }
 
-    protected Map<String, Map<String, CatalogInfo>> getInfoMap() {
-        return infoMap;
+    /**
+     * Adds or replaces an Attribute.
+     * @param attribute The Attribute.
+     */
+    protected void addAttribute(Attribute attribute) {
+        updateSnapshot(current -> current.withAttribute(attribute));
+    }
+
+    /**
+     * Applies the changes made to the catalog after it was reloaded.
+     * @param data The new contents of the catalog.
+     * @param diff The Events and Attributes that changed.
+     */
+    protected void catalogChanged(CatalogData data, CatalogDiff diff) {
+        updateSnapshot(current -> current.withChanges(diff));
+        catalogData = data;
+        logger.debug("Applied catalog changes {}", diff);
     }
 
     @Override
     public Event getEvent(String eventName, String catalogId) {
-        CatalogInfo info = getCatalogInfo(eventName, catalogId);
-        return info != null ? info.event : null;
+        EventInfo info = snapshot.get().getEventInfo(eventName, catalogId);
+        return info != null ? info.getEvent() : null;
     }
 
     @Override
     public List<String> getRequiredContextAttributes(String eventName, String catalogId) {
-        Map<String, CatalogInfo> catalogMap = infoMap.get(catalogId == null ? DEFAULT_CATALOG : catalogId);
-        return catalogMap != null ? catalogMap.get(eventName).requiredContextAttributes : null;
+        EventInfo info = snapshot.get().getEventInfo(eventName, catalogId);
+        return info != null ? info.getRequiredContextAttributes() : null;
     }
 
     @Override
     public Map<String, Attribute> getAttributes(String eventName, String catalogId) {
-        Event event = getEvent(eventName, catalogId);
-        if (event == null) {
+        CatalogSnapshot current = snapshot.get();
+        EventInfo info = current.getEventInfo(eventName, catalogId);
+        if (info == null) {
             logger.warn("The event named {} could not be found in catalog {}", eventName, catalogId);
             return null;
         }
+        Event event = info.getEvent();
         List<EventAttribute> eventAttributes = event.getAttributes() == null ? emptyList() : event.getAttributes();
         Map<String, Attribute> attributes = new HashMap<>(eventAttributes.size());
         for (EventAttribute eventAttribute : eventAttributes) {
-            Attribute attr = getAttribute(eventAttribute.getName(), event.getCatalogId());
+            Attribute attr = current.getAttribute(eventAttribute.getName(), event.getCatalogId());
             if (attr != null) {
                 attributes.put(attr.getName(), attr);
             }
@@ -98,113 +141,40 @@ public class CatalogManagerImpl implements CatalogManager {
 
     @Override
     public List<String> getAttributeNames(String eventName, String catalogId) {
-        return infoMap.get(catalogId == null ? DEFAULT_CATALOG : catalogId).get(eventName).attributeNames;
+        EventInfo info = snapshot.get().getEventInfo(eventName, catalogId);
+        return info != null ? info.getAttributeNames() : null;
     }
 
     @Override
     public Attribute getAttribute(String name) {
-        Map<String, Attribute> attrMap = attributeMap.get(DEFAULT_CATALOG);
-        return attrMap != null ? attrMap.get(name) : null;
+        return snapshot.get().getAttribute(name, DEFAULT_CATALOG);
     }
 
     public Attribute getAttribute(String name, String catalogId) {
-        Map<String, Attribute> attrMap = attributeMap.get(catalogId);
-        if (attrMap == null || !attrMap.containsKey(name)) {
-            attrMap = attributeMap.get(DEFAULT_CATALOG);
-        }
-        return attrMap != null ? attrMap.get(name) : null;
+        return snapshot.get().getAttribute(name, catalogId);
     }
 
     @Override
     public Map<String, Attribute> getRequestContextAttributes() {
-        return requestContextAttributes;
+        return snapshot.get().getRequestContextAttributes();
     }
 
-    private CatalogInfo getCatalogInfo(String eventName, String catalogId) {
-        Map<String, CatalogInfo> defaultCatalog = infoMap.get(DEFAULT_CATALOG);
-        Map<String, CatalogInfo> catalog = catalogId != null ? infoMap.get(catalogId) : null;
-        return catalog != null && catalog.containsKey(eventName)
-                ? catalog.get(eventName)
-                : defaultCatalog.get(eventName);
-    }
-
-    private Map<String, Map<String, CatalogInfo>> initializeData(CatalogReader catalogReader) throws Exception {
-        JsonFactory factory = new JsonFactory();
-        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
-        ObjectMapper mapper = new ObjectMapper(factory);
-
-        String catalog = catalogReader.readCatalog();
-        catalogData = mapper.readValue(catalog, CatalogData.class);
-
-        if (catalogData.getAttributes() != null) {
-            for (Attribute attr : catalogData.getAttributes()) {
-                if (attr.isRequestContext()) {
-                    requestContextAttributes.put(attr.getName(), attr);
-                }
-                Map<String, Attribute> attrMap =
-                        attributeMap.computeIfAbsent(attr.getCatalogId(), k -> new HashMap<>());
-                attrMap.put(attr.getName(), attr);
-            }
-        }
-
-        Map<String, Map<String, CatalogInfo>> map = new HashMap<>();
-        map.put(DEFAULT_CATALOG, new HashMap<>());
-        for (Event event : catalogData.getEvents()) {
-            addEntry(map, event);
-        }
-        return map;
+    @Override
+    public EventValidationPlan getValidationPlan(String eventName, String catalogId) {
+        EventInfo info = snapshot.get().getEventInfo(eventName, catalogId);
+        return info != null ? info.getValidationPlan() : null;
     }
 
-    protected void addEntry(Map<String, Map<String, CatalogInfo>> map, Event event) {
-        CatalogInfo info = new CatalogInfo();
-        info.event = event;
-        String catalogId = event.getCatalogId();
-        if (catalogId != null && catalogId.length() > 0 && !map.containsKey(catalogId)) {
-            map.put(catalogId, new HashMap<>());
+    /**
+     * Uses the CatalogData the reader has already parsed. The text returned by readCatalog() is only parsed for
+     * readers that do not provide the parsed catalog.
+     */
+    private CatalogSnapshot initializeData(CatalogReader catalogReader) throws Exception {
+        CatalogData data = catalogReader.read();
+        if (data == null) {
+            data = CatalogObjectMappers.catalogReader().readValue(catalogReader.readCatalog());
         }
-        List<String> required = new ArrayList<>();
-        List<String> names = new ArrayList<>();
-        info.attributes = new HashMap<>(names.size());
-        if (event.getAttributes() != null) {
-            for (EventAttribute eventAttribute : event.getAttributes()) {
-                String name = eventAttribute.getName();
-                Attribute attribute = getAttribute(name, event.getCatalogId());
-                if (attribute != null) {
-                    info.attributes.put(name, attribute);
-                    if (name.indexOf('.') != -1) {
-                        name = name.replaceAll("\\.", "");
-                    }
-                    if (name.indexOf('/') != -1) {
-                        name = name.replaceAll("/", "");
-                    }
-                    if (attribute.isRequestContext()) {
-                        if (attribute.isRequired()) {
-                            if (name.startsWith(REQCTX)) {
-                                name = name.substring(REQCTX.length());
-                            }
-                            required.add(name);
-                        }
-                    } else {
-                        names.add(name);
-                    }
-                } else {
-                    throw new IllegalStateException("Attribute " + name + " is not defined");
-                }
-            }
-        }
-        info.requiredContextAttributes = required;
-        info.attributeNames = names;
-        Map<String, CatalogInfo> catalogMap = catalogId == null ? map.get(DEFAULT_CATALOG) : map.get(catalogId);
-        catalogMap.put(NamingUtils.getFieldName(event.getName()), info);
-    }
-
-    protected class CatalogInfo {
-        private Event event;
-
-        private List<String> requiredContextAttributes;
-
-        private List<String> attributeNames;
-
-        private Map<String, Attribute> attributes;
+        catalogData = data;
+        return CatalogSnapshot.create(catalogData);
     }
 }
@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.catalog;
+
+import static org.apache.logging.log4j.catalog.api.constant.Constants.DEFAULT_CATALOG;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.logging.log4j.audit.util.NamingUtils;
+import org.apache.logging.log4j.catalog.api.Attribute;
+import org.apache.logging.log4j.catalog.api.CatalogData;
+import org.apache.logging.log4j.catalog.api.CatalogDiff;
+import org.apache.logging.log4j.catalog.api.Event;
+import org.apache.logging.log4j.catalog.api.EventAttribute;
+
+/**
+ * An immutable view of the catalog used by the CatalogManager. Modifying the catalog creates a new snapshot, so
+ * a thread that obtained a snapshot always sees a complete and consistent catalog without locking.
+ */
+public final class CatalogSnapshot {
+
+    private static final String REQCTX = "ReqCtx_";
+
+    private final Map<String, Map<String, Attribute>> attributes;
+
+    private final Map<String, Attribute> requestContextAttributes;
+
+    private final Map<String, Map<String, EventInfo>> events;
+
+    private CatalogSnapshot(Map<String, Map<String, Attribute>> attributes, Iterable<Event> eventList) {
+        this.attributes = freezeAttributes(attributes);
+        this.requestContextAttributes = findRequestContextAttributes(attributes);
+        Map<String, Map<String, EventInfo>> eventMap = new HashMap<>();
+        eventMap.put(DEFAULT_CATALOG, new HashMap<>());
+        for (Event event : eventList) {
+            addEvent(eventMap, event);
+        }
+        this.events = freeze(eventMap);
+    }
+
+    private CatalogSnapshot(CatalogSnapshot snapshot, Event event) {
+        this.attributes = snapshot.attributes;
+        this.requestContextAttributes = snapshot.requestContextAttributes;
+        Map<String, Map<String, EventInfo>> eventMap = new HashMap<>(snapshot.events.size() + 1);
+        for (Map.Entry<String, Map<String, EventInfo>> entry : snapshot.events.entrySet()) {
+            eventMap.put(entry.getKey(), new HashMap<>(entry.getValue()));
+        }
+        addEvent(eventMap, event);
+        this.events = freeze(eventMap);
+    }
+
+    private CatalogSnapshot(
+            CatalogSnapshot snapshot,
+            Map<String, Map<String, Attribute>> attributes,
+            CatalogDiff diff,
+            Set<String> changedAttributes,
+            boolean rebuildAll) {
+        if (attributes == snapshot.attributes) {
+            this.attributes = snapshot.attributes;
+            this.requestContextAttributes = snapshot.requestContextAttributes;
+        } else {
+            this.attributes = freezeAttributes(attributes);
+            this.requestContextAttributes = findRequestContextAttributes(attributes);
+        }
+        Map<String, Map<String, EventInfo>> eventMap = new HashMap<>(snapshot.events.size());
+        for (Map.Entry<String, Map<String, EventInfo>> entry : snapshot.events.entrySet()) {
+            Map<String, EventInfo> catalogMap = new HashMap<>(entry.getValue());
+            for (Map.Entry<String, EventInfo> eventEntry : catalogMap.entrySet()) {
+                Event event = eventEntry.getValue().event;
+                if (rebuildAll || references(event, changedAttributes)) {
+                    eventEntry.setValue(new EventInfo(event, this));
+                }
+            }
+            eventMap.put(entry.getKey(), catalogMap);
+        }
+        for (Event event : diff.getRemovedEvents()) {
+            String catalogId = event.getCatalogId();
+            Map<String, EventInfo> catalogMap =
+                    eventMap.get(catalogId == null || catalogId.isEmpty() ? DEFAULT_CATALOG : catalogId);
+            if (catalogMap != null) {
+                catalogMap.remove(NamingUtils.getFieldName(event.getName()));
+            }
+        }
+        for (Event event : diff.getChangedEvents()) {
+            addEvent(eventMap, event);
+        }
+        this.events = freeze(eventMap);
+    }
+
+    /**
+     * Creates a snapshot of the catalog.
+     * @param catalogData The catalog.
+     * @return The CatalogSnapshot.
+     */
+    public static CatalogSnapshot create(CatalogData catalogData) {
+        Map<String, Map<String, Attribute>> attributes = new HashMap<>();
+        if (catalogData.getAttributes() != null) {
+            for (Attribute attr : catalogData.getAttributes()) {
+                attributes
+                        .computeIfAbsent(attr.getCatalogId(), k -> new HashMap<>())
+                        .put(attr.getName(), attr);
+            }
+        }
+        List<Event> events = catalogData.getEvents() != null ? catalogData.getEvents() : Collections.emptyList();
+        return new CatalogSnapshot(attributes, events);
+    }
+
+    /**
+     * Returns a snapshot that includes the Event, replacing any Event with the same name in the same catalog.
+     * @param event The Event.
+     * @return The new CatalogSnapshot.
+     */
+    public CatalogSnapshot withEvent(Event event) {
+        return new CatalogSnapshot(this, event);
+    }
+
+    /**
+     * Returns a snapshot that includes the Attribute, replacing any Attribute with the same name in the same
+     * catalog. All the Events are processed again since they may reference the Attribute.
+     * @param attribute The Attribute.
+     * @return The new CatalogSnapshot.
+     */
+    public CatalogSnapshot withAttribute(Attribute attribute) {
+        Map<String, Map<String, Attribute>> attributeMap = new HashMap<>(attributes.size() + 1);
+        for (Map.Entry<String, Map<String, Attribute>> entry : attributes.entrySet()) {
+            attributeMap.put(entry.getKey(), new HashMap<>(entry.getValue()));
+        }
+        attributeMap
+                .computeIfAbsent(attribute.getCatalogId(), k -> new HashMap<>())
+                .put(attribute.getName(), attribute);
+        List<Event> eventList = new ArrayList<>();
+        for (Map<String, EventInfo> catalogMap : events.values()) {
+            for (EventInfo info : catalogMap.values()) {
+                eventList.add(info.event);
+            }
+        }
+        return new CatalogSnapshot(attributeMap, eventList);
+    }
+
+    /**
+     * Returns a snapshot with the changes made to the catalog applied. Only the Events that were changed, or that
+     * reference an Attribute that was changed, are processed again unless a request context Attribute changed,
+     * since those are validated for every Event.
+     * @param diff The changes to the catalog.
+     * @return The new CatalogSnapshot.
+     */
+    public CatalogSnapshot withChanges(CatalogDiff diff) {
+        if (diff.isEmpty()) {
+            return this;
+        }
+        Map<String, Map<String, Attribute>> attributeMap = attributes;
+        Set<String> changedAttributes = new HashSet<>();
+        boolean rebuildAll = false;
+        if (!diff.getChangedAttributes().isEmpty()
+                || !diff.getRemovedAttributes().isEmpty()) {
+            attributeMap = new HashMap<>(attributes.size() + 1);
+            for (Map.Entry<String, Map<String, Attribute>> entry : attributes.entrySet()) {
+                attributeMap.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            }
+            for (Attribute attribute : diff.getRemovedAttributes()) {
+                Map<String, Attribute> catalogMap = attributeMap.get(attribute.getCatalogId());
+                if (catalogMap != null) {
+                    catalogMap.remove(attribute.getName());
+                }
+                changedAttributes.add(attribute.getName());
+                rebuildAll |= attribute.isRequestContext();
+            }
+            for (Attribute attribute : diff.getChangedAttributes()) {
+                attributeMap
+                        .computeIfAbsent(attribute.getCatalogId(), k -> new HashMap<>())
+                        .put(attribute.getName(), attribute);
+                changedAttributes.add(attribute.getName());
+                rebuildAll |= attribute.isRequestContext() || requestContextAttributes.containsKey(attribute.getName());
+            }
+        }
+        return new CatalogSnapshot(this, attributeMap, diff, changedAttributes, rebuildAll);
+    }
+
+    /**
+     * Locates an Event in a catalog, falling back to the default catalog.
+     * @param eventName The name of the event.
+     * @param catalogId The catalog id or null for the default catalog.
+     * @return The EventInfo or null if the Event is not defined.
+     */
+    public EventInfo getEventInfo(String eventName, String catalogId) {
+        Map<String, EventInfo> catalog = catalogId != null ? events.get(catalogId) : null;
+        if (catalog != null && catalog.containsKey(eventName)) {
+            return catalog.get(eventName);
+        }
+        return events.get(DEFAULT_CATALOG).get(eventName);
+    }
+
+    /**
+     * Locates an Attribute in a catalog, falling back to the default catalog.
+     * @param name The name of the attribute.
+     * @param catalogId The catalog id.
+     * @return The Attribute or null if it is not defined.
+     */
+    public Attribute getAttribute(String name, String catalogId) {
+        Map<String, Attribute> attrMap = attributes.get(catalogId);
+        if (attrMap == null || !attrMap.containsKey(name)) {
+            attrMap = attributes.get(DEFAULT_CATALOG);
+        }
+        return attrMap != null ? attrMap.get(name) : null;
+    }
+
+    public Map<String, Attribute> getRequestContextAttributes() {
+        return requestContextAttributes;
+    }
+
+    private void addEvent(Map<String, Map<String, EventInfo>> eventMap, Event event) {
+        String catalogId = event.getCatalogId();
+        if (catalogId != null && catalogId.length() > 0 && !eventMap.containsKey(catalogId)) {
+            eventMap.put(catalogId, new HashMap<>());
+        }
+        Map<String, EventInfo> catalogMap = catalogId == null ? eventMap.get(DEFAULT_CATALOG) : eventMap.get(catalogId);
+        catalogMap.put(NamingUtils.getFieldName(event.getName()), new EventInfo(event, this));
+    }
+
+    private static boolean references(Event event, Set<String> attributeNames) {
+        if (attributeNames.isEmpty() || event.getAttributes() == null) {
+            return false;
+        }
+        for (EventAttribute eventAttribute : event.getAttributes()) {
+            if (attributeNames.contains(eventAttribute.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Map<String, Attribute>> freezeAttributes(
+            Map<String, Map<String, Attribute>> attributes) {
+        Map<String, Map<String, Attribute>> attributeMap = new HashMap<>(attributes.size());
+        for (Map.Entry<String, Map<String, Attribute>> entry : attributes.entrySet()) {
+            attributeMap.put(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(attributeMap);
+    }
+
+    private static Map<String, Attribute> findRequestContextAttributes(Map<String, Map<String, Attribute>> attributes) {
+        Map<String, Attribute> requestContext = new HashMap<>();
+        for (Map<String, Attribute> attrMap : attributes.values()) {
+            for (Attribute attr : attrMap.values()) {
+                if (attr.isRequestContext()) {
+                    requestContext.put(attr.getName(), attr);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(requestContext);
+    }
+
+    private static Map<String, Map<String, EventInfo>> freeze(Map<String, Map<String, EventInfo>> eventMap) {
+        for (Map.Entry<String, Map<String, EventInfo>> entry : eventMap.entrySet()) {
+            entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(eventMap);
+    }
+
+    /**
+     * The information derived from an Event when the snapshot was created.
+     */
+    public static final class EventInfo {
+        private final Event event;
+
+        private final List<String> requiredContextAttributes;
+
+        private final List<String> attributeNames;
+
+        private final EventValidationPlan validationPlan;
+
+        private EventInfo(Event event, CatalogSnapshot snapshot) {
+            this.event = event;
+            List<String> required = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            if (event.getAttributes() != null) {
+                for (EventAttribute eventAttribute : event.getAttributes()) {
+                    String name = eventAttribute.getName();
+                    Attribute attribute = snapshot.getAttribute(name, event.getCatalogId());
+                    if (attribute == null) {
+                        throw new IllegalStateException("Attribute " + name + " is not defined");
+                    }
+                    if (name.indexOf('.') != -1) {
+                        name = name.replaceAll("\\.", "");
+                    }
+                    if (name.indexOf('/') != -1) {
+                        name = name.replaceAll("/", "");
+                    }
+                    if (attribute.isRequestContext()) {
+                        if (attribute.isRequired()) {
+                            if (name.startsWith(REQCTX)) {
+                                name = name.substring(REQCTX.length());
+                            }
+                            required.add(name);
+                        }
+                    } else {
+                        names.add(name);
+                    }
+                }
+            }
+            this.requiredContextAttributes = Collections.unmodifiableList(required);
+            this.attributeNames = Collections.unmodifiableList(names);
+            this.validationPlan = new EventValidationPlan(
+                    event,
+                    name -> snapshot.getAttribute(name, event.getCatalogId()),
+                    attributeNames,
+                    requiredContextAttributes,
+                    snapshot.requestContextAttributes);
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+
+        public List<String> getRequiredContextAttributes() {
+            return requiredContextAttributes;
+        }
+
+        public List<String> getAttributeNames() {
+            return attributeNames;
+        }
+
+        public EventValidationPlan getValidationPlan() {
+            return validationPlan;
+        }
+    }
+}
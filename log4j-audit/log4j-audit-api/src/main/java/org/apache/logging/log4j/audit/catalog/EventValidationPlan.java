@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.catalog;
+
+import static org.apache.logging.log4j.catalog.api.util.StringUtils.appendNewline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.exception.ConstraintValidationException;
+import org.apache.logging.log4j.catalog.api.Attribute;
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
+import org.apache.logging.log4j.catalog.api.Constraint;
+import org.apache.logging.log4j.catalog.api.ConstraintType;
+import org.apache.logging.log4j.catalog.api.Event;
+import org.apache.logging.log4j.catalog.api.EventAttribute;
+import org.apache.logging.log4j.catalog.api.plugins.ConstraintPlugins;
+
+/**
+ * The validations performed when an Event is logged through an AbstractEventLogger. A plan is immutable and is
+ * built once for each Event when the catalog is loaded or the Event is modified, so validating an Event only
+ * requires work proportional to the number of attributes being logged.
+ */
+public final class EventValidationPlan {
+
+    private static final String COMPLETION_STATUS = "completionStatus";
+
+    private static final BoundConstraint[] NO_CONSTRAINTS = new BoundConstraint[0];
+
+    private final RequiredAttribute[] requiredAttributes;
+
+    private final Set<String> definedAttributes;
+
+    private final Set<String> attributeNames;
+
+    private final String[] requiredContextAttributes;
+
+    private final ContextAttribute[] contextAttributes;
+
+    /**
+     * Builds the plan for an Event.
+     * @param event The Event.
+     * @param attributeLookup Locates the Attribute definition for an attribute name in the Event's catalog.
+     * @param attributeNames The names of the attributes, other than request context attributes, that may be logged.
+     * @param requiredContextAttributes The request context attributes the Event requires.
+     * @param requestContextAttributes All the request context attributes in the catalog.
+     */
+    public EventValidationPlan(
+            Event event,
+            Function<String, Attribute> attributeLookup,
+            Collection<String> attributeNames,
+            Collection<String> requiredContextAttributes,
+            Map<String, Attribute> requestContextAttributes) {
+        List<RequiredAttribute> required = new ArrayList<>();
+        Set<String> defined = new HashSet<>();
+        if (event.getAttributes() != null) {
+            for (EventAttribute eventAttribute : event.getAttributes()) {
+                Attribute attr = attributeLookup.apply(eventAttribute.getName());
+                if (attr == null) {
+                    continue;
+                }
+                defined.add(attr.getName());
+                if ((!attr.isRequestContext() && attr.isRequired())
+                        || (eventAttribute.isRequired() != null && eventAttribute.isRequired())) {
+                    required.add(new RequiredAttribute(attr.getName(), bind(attr.getConstraints())));
+                }
+            }
+        }
+        this.requiredAttributes = required.toArray(new RequiredAttribute[0]);
+        this.definedAttributes = defined;
+        this.attributeNames = attributeNames != null ? new HashSet<>(attributeNames) : new HashSet<>();
+        this.requiredContextAttributes =
+                requiredContextAttributes != null ? requiredContextAttributes.toArray(new String[0]) : new String[0];
+        List<ContextAttribute> context = new ArrayList<>();
+        if (requestContextAttributes != null) {
+            for (Map.Entry<String, Attribute> entry : requestContextAttributes.entrySet()) {
+                Attribute attribute = entry.getValue();
+                context.add(
+                        new ContextAttribute(entry.getKey(), attribute.isRequired(), bind(attribute.getConstraints())));
+            }
+        }
+        this.contextAttributes = context.toArray(new ContextAttribute[0]);
+    }
+
+    /**
+     * Validates the attributes of an Event along with the contents of the ThreadContext.
+     * @param eventName The name of the Event.
+     * @param attributes The attributes being logged.
+     * @throws ConstraintValidationException if the validation fails.
+     */
+    public void validate(String eventName, Map<String, String> attributes) {
+        StringBuilder errors = new StringBuilder();
+        StringBuilder missingAttributes = null;
+        for (RequiredAttribute attribute : requiredAttributes) {
+            String value = attributes.get(attribute.name);
+            if (value == null && !attributes.containsKey(attribute.name)) {
+                if (missingAttributes == null) {
+                    missingAttributes = new StringBuilder();
+                } else {
+                    missingAttributes.append(", ");
+                }
+                missingAttributes.append(attribute.name);
+            } else {
+                validateConstraints(false, attribute.constraints, attribute.name, value, errors);
+            }
+        }
+        for (String name : attributes.keySet()) {
+            if (!definedAttributes.contains(name) && !COMPLETION_STATUS.equals(name)) {
+                appendNewline(errors);
+                errors.append("Attribute ")
+                        .append(name)
+                        .append(" is not defined for ")
+                        .append(eventName);
+            }
+        }
+        if (missingAttributes != null) {
+            appendNewline(errors);
+            errors.append("Event ")
+                    .append(eventName)
+                    .append(" is missing required attribute(s) ")
+                    .append(missingAttributes);
+        }
+        if (errors.length() > 0) {
+            throw new ConstraintValidationException(errors.toString());
+        }
+
+        for (String name : attributes.keySet()) {
+            if (!attributeNames.contains(name)) {
+                if (errors.length() > 0) {
+                    errors.append(", ");
+                }
+                errors.append(name);
+            }
+        }
+        if (errors.length() > 0) {
+            throw new ConstraintValidationException(
+                    "Event " + eventName + " contains invalid attribute(s) " + errors.toString());
+        }
+
+        for (String attr : requiredContextAttributes) {
+            if (!ThreadContext.containsKey(attr)) {
+                if (errors.length() > 0) {
+                    errors.append(", ");
+                }
+                errors.append(attr);
+            }
+        }
+        if (errors.length() > 0) {
+            throw new ConstraintValidationException("Event " + eventName
+                    + " is missing required RequestContextMapping values for " + errors.toString());
+        }
+
+        for (ContextAttribute attribute : contextAttributes) {
+            if (attribute.required && !ThreadContext.containsKey(attribute.key)) {
+                if (errors.length() > 0) {
+                    errors.append(", ");
+                }
+                errors.append(attribute.key);
+            }
+        }
+        if (errors.length() > 0) {
+            throw new ConstraintValidationException(
+                    "Event " + eventName + " is missing required Thread Context values for " + errors.toString());
+        }
+
+        for (ContextAttribute attribute : contextAttributes) {
+            if (attribute.constraints.length > 0) {
+                String value = ThreadContext.get(attribute.key);
+                if (value != null || ThreadContext.containsKey(attribute.key)) {
+                    validateConstraints(true, attribute.constraints, attribute.key, value, errors);
+                }
+            }
+        }
+        if (errors.length() > 0) {
+            throw new ConstraintValidationException(
+                    "Event " + eventName + " has incorrect data in the Thread Context: " + errors.toString());
+        }
+    }
+
+    private static void validateConstraints(
+            boolean isRequestContext, BoundConstraint[] constraints, String name, String value, StringBuilder errors) {
+        for (BoundConstraint constraint : constraints) {
+            constraint.validate(isRequestContext, name, value, errors);
+        }
+    }
+
+    private static BoundConstraint[] bind(Collection<Constraint> constraints) {
+        if (constraints == null || constraints.isEmpty()) {
+            return NO_CONSTRAINTS;
+        }
+        ConstraintPlugins plugins = ConstraintPlugins.getInstance();
+        BoundConstraint[] bound = new BoundConstraint[constraints.size()];
+        int index = 0;
+        for (Constraint constraint : constraints) {
+            String typeName = constraint.getConstraintType().getName();
+            ConstraintType constraintType = plugins.findByName(typeName);
+            bound[index++] = new BoundConstraint(
+                    typeName, constraintType != null ? constraintType.compile(constraint.getValue()) : null);
+        }
+        return bound;
+    }
+
+    private static final class RequiredAttribute {
+        private final String name;
+        private final BoundConstraint[] constraints;
+
+        private RequiredAttribute(String name, BoundConstraint[] constraints) {
+            this.name = name;
+            this.constraints = constraints;
+        }
+    }
+
+    private static final class ContextAttribute {
+        private final String key;
+        private final boolean required;
+        private final BoundConstraint[] constraints;
+
+        private ContextAttribute(String key, boolean required, BoundConstraint[] constraints) {
+            this.key = key;
+            this.required = required;
+            this.constraints = constraints;
+        }
+    }
+
+    /**
+     * A Constraint that has already been compiled by its ConstraintType.
+     */
+    private static final class BoundConstraint {
+        private final String typeName;
+        private final CompiledConstraint compiled;
+
+        private BoundConstraint(String typeName, CompiledConstraint compiled) {
+            this.typeName = typeName;
+            this.compiled = compiled;
+        }
+
+        private void validate(boolean isRequestContext, String name, String value, StringBuilder errors) {
+            if (compiled == null) {
+                appendNewline(errors);
+                errors.append("Unable to locate constraint type ").append(typeName);
+                errors.append(isRequestContext ? " for ThreadContext key " : " for key ");
+                errors.append(name);
+                return;
+            }
+            compiled.validate(isRequestContext, name, value, errors);
+        }
+    }
+}
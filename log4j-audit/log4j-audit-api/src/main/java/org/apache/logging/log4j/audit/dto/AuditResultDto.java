@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.dto;
+
+/**
+ * The outcome of logging one of the Audit Events submitted in a batch.
+ */
+public class AuditResultDto {
+
+    /**
+     * The possible outcomes.
+     */
+    public enum Status {
+        /** The event was validated and logged. */
+        LOGGED,
+        /** The event failed validation or could not be logged. */
+        FAILED,
+        /** The event was not processed because the service is overloaded. It may be resubmitted. */
+        REJECTED
+    }
+
+    /**
+     * The position of the event in the batch.
+     */
+    private int index;
+
+    /**
+     * The name of the event.
+     */
+    private String eventName;
+
+    /**
+     * The outcome.
+     */
+    private Status status;
+
+    /**
+     * The reason the event was not logged.
+     */
+    private String message;
+
+    public AuditResultDto() {}
+
+    public AuditResultDto(int index, String eventName, Status status, String message) {
+        this.index = index;
+        this.eventName = eventName;
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * Get the position of the event in the batch.
+     * @return the position of the event.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Set the position of the event in the batch.
+     * @param index the position of the event.
+     */
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * Get the name of the event.
+     * @return the name of the event.
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Set the name of the event.
+     * @param eventName The name of the event.
+     */
+    public void setEventName(String eventName) {
+        this.eventName = eventName;
+    }
+
+    /**
+     * Get the outcome.
+     * @return the outcome.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Set the outcome.
+     * @param status the outcome.
+     */
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * Get the reason the event was not logged.
+     * @return the error message, or null if the event was logged.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Set the reason the event was not logged.
+     * @param message the error message.
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
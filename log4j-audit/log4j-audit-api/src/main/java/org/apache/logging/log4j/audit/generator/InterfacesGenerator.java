@@ -18,6 +18,7 @@ package org.apache.logging.log4j.audit.generator;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -56,6 +57,12 @@ public class InterfacesGenerator {
 
     private static final String PARENT_CLASS = "AuditEvent";
 
+    private static final String IMPL_PARENT_IMPORT = "org.apache.logging.log4j.audit.AbstractAuditEvent";
+    private static final String IMPL_PARENT_CLASS = "AbstractAuditEvent";
+    private static final String IMPL_SUFFIX = "Impl";
+    private static final String IMPL_CONSTRAINT = "constraint(\"%s\", \"%s\")";
+    private static final String CONSTRAINT_CHECK_TYPE = "ConstraintCheck[]";
+
     private static final String REQCTX = "ReqCtx_";
 
     private static final String EVENT_ID = "eventID";
@@ -84,6 +91,9 @@ public class InterfacesGenerator {
     @Value("${verbose:false}")
     private boolean verbose;
 
+    @Value("${generateImplementations:false}")
+    private boolean generateImplementations;
+
     public CatalogReader getCatalogReader() {
         return catalogReader;
     }
@@ -120,6 +130,15 @@ public class InterfacesGenerator {
         this.verbose = verbose;
     }
 
+    /**
+     * When true a class implementing each generated interface is also generated. LogEventFactory will use
+     * the implementation instead of creating a Proxy for the interface.
+     * @param generateImplementations true if implementation classes should be generated.
+     */
+    public void setGenerateImplementations(boolean generateImplementations) {
+        this.generateImplementations = generateImplementations;
+    }
+
     public void generateSource() throws Exception {
         boolean errors = false;
         CatalogData catalogData = catalogReader.read();
@@ -148,8 +167,8 @@ public class InterfacesGenerator {
                     errors = true;
                     continue;
                 }
-                ClassGenerator classGenerator =
-                        new ClassGenerator(NamingUtils.getClassName(event.getName()), outputDirectory);
+                String className = NamingUtils.getClassName(event.getName());
+                ClassGenerator classGenerator = new ClassGenerator(className, outputDirectory);
                 classGenerator.setClass(false);
                 classGenerator.setPackageName(packageName);
                 classGenerator.setParentClassName(PARENT_CLASS);
@@ -162,6 +181,7 @@ public class InterfacesGenerator {
                 annotations.append("@EventName(\"").append(event.getName()).append("\")\n");
                 imports.add(MAX_LENGTH_IMPORT);
                 annotations.append("@MaxLength(").append(maxKeyLength).append(")");
+                ClassGenerator implGenerator = generateImplementations ? createImplGenerator(className, event) : null;
 
                 List<EventAttribute> eventAttributes = event.getAttributes();
                 boolean anyRequired = false;
@@ -239,10 +259,16 @@ public class InterfacesGenerator {
                             definition.setAnnotation(buffer.toString());
                         }
                         classGenerator.addMethod(definition);
+                        if (implGenerator != null) {
+                            addImplMethod(implGenerator, name, type, attribute, constraints);
+                        }
                     }
                 }
                 if (importedTypes.size() > 0) {
                     imports.addAll(importedTypes.values());
+                    if (implGenerator != null) {
+                        implGenerator.getImports().addAll(importedTypes.values());
+                    }
                 }
                 if (anyRequired) {
                     imports.add(REQUIRED_IMPORT);
@@ -305,6 +331,9 @@ public class InterfacesGenerator {
                     classGenerator.setAnnotations(annotations.toString());
                 }
                 classGenerator.generate();
+                if (implGenerator != null) {
+                    implGenerator.generate();
+                }
             }
         }
         if (errors) {
@@ -312,6 +341,63 @@ public class InterfacesGenerator {
         }
     }
 
+    private ClassGenerator createImplGenerator(String className, Event event) {
+        String implName = className + IMPL_SUFFIX;
+        ClassGenerator implGenerator = new ClassGenerator(implName, outputDirectory);
+        implGenerator.setPackageName(packageName);
+        implGenerator.setParentClassName(IMPL_PARENT_CLASS);
+        implGenerator.getImplements().add(className);
+        implGenerator.setJavadocComment(event.getDescription());
+        implGenerator.setVerbose(verbose);
+        implGenerator.getImports().add(IMPL_PARENT_IMPORT);
+        ConstructorDefinition constructor = new ConstructorDefinition(implName);
+        constructor.setContent("    super(" + className + ".class);");
+        implGenerator.addConstructor(constructor);
+        return implGenerator;
+    }
+
+    /**
+     * Generates a setter that validates the value using constraints resolved when the class is loaded.
+     */
+    private void addImplMethod(
+            ClassGenerator implGenerator, String name, String type, Attribute attribute, Set<Constraint> constraints) {
+        MethodDefinition definition = new MethodDefinition("void", NamingUtils.getMutatorName(name));
+        definition.addParameter(new Parameter(name, type, attribute.getDescription()));
+        definition.setVisability("public");
+        definition.setAnnotation("@Override");
+        definition.setJavadocComments(attribute.getDisplayName() + " : " + attribute.getDescription());
+        String key = NamingUtils.lowerFirst(name);
+        StringBuilder content = new StringBuilder("    setProperty(\"")
+                .append(key)
+                .append("\", ")
+                .append(name);
+        if (constraints != null && constraints.size() > 0) {
+            String fieldName = name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT) + "_CONSTRAINTS";
+            StringBuilder checks = new StringBuilder("{");
+            for (Constraint constraint : constraints) {
+                if (checks.length() > 1) {
+                    checks.append(", ");
+                }
+                checks.append(String.format(
+                        IMPL_CONSTRAINT, constraint.getConstraintType().getName(), escape(constraint.getValue())));
+            }
+            checks.append("}");
+            VariableDefinition variable =
+                    new VariableDefinition("private", CONSTRAINT_CHECK_TYPE, fieldName, checks.toString());
+            variable.setMakeStatic(true);
+            variable.setMakeFinal(true);
+            implGenerator.addLocalVariable(variable);
+            content.append(", ").append(fieldName);
+        }
+        content.append(");");
+        definition.setContent(content.toString());
+        implGenerator.addMethod(definition);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
     void appendConstraint(Constraint constraint, StringBuilder buffer) {
         ConstraintType type = constraint.getConstraintType();
         // Add the escapes since they have been removed when converting the original data to a Java Strinng. They need
@@ -16,4 +16,153 @@
  */
 package org.apache.logging.log4j.audit.layout;
 
-public class AuditLayout {}
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.apache.logging.log4j.audit.AuditMessage;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.AbstractStringLayout;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.message.MapMessage;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.StructuredDataMessage;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+import org.apache.logging.log4j.util.StringBuilders;
+import org.apache.logging.log4j.util.TriConsumer;
+
+/**
+ * Formats audit events as a single line of JSON. The event name, the attributes, the nested content added to an
+ * AuditMessage and the ThreadContext are written directly into a reused StringBuilder which, for appenders that
+ * support it, is encoded straight into the appender's buffer, so formatting an event does not create intermediate
+ * Strings.
+ * <pre>
+ * {"timeMillis":1500000000000,"logger":"AuditLogger","eventName":"transfer","type":"Audit",
+ *  "attributes":{"amount":"100.00"},"content":{"memo":{"text":"Rent"}},"contextMap":{"loginId":"jdoe"}}
+ * </pre>
+ */
+@Plugin(name = "AuditLayout", category = Node.CATEGORY, elementType = Layout.ELEMENT_TYPE, printObject = true)
+public final class AuditLayout extends AbstractStringLayout {
+
+    private static final String CONTENT_TYPE = "application/json";
+
+    private static final TriConsumer<String, Object, StringBuilder> FIELD_WRITER = AuditLayout::appendField;
+
+    private final boolean includeContext;
+
+    private AuditLayout(Charset charset, boolean includeContext) {
+        super(charset);
+        this.includeContext = includeContext;
+    }
+
+    @PluginFactory
+    public static AuditLayout createLayout(
+            @PluginAttribute(value = "charset", defaultString = "UTF-8") Charset charset,
+            @PluginAttribute(value = "includeContext", defaultBoolean = true) boolean includeContext) {
+        return new AuditLayout(charset != null ? charset : StandardCharsets.UTF_8, includeContext);
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE + "; charset=" + getCharset();
+    }
+
+    @Override
+    public String toSerializable(LogEvent event) {
+        StringBuilder sb = getStringBuilder();
+        format(event, sb);
+        return sb.toString();
+    }
+
+    @Override
+    public void encode(LogEvent event, ByteBufferDestination destination) {
+        StringBuilder sb = getStringBuilder();
+        format(event, sb);
+        getStringBuilderEncoder().encode(sb, destination);
+    }
+
+    private void format(LogEvent event, StringBuilder sb) {
+        sb.append("{\"timeMillis\":").append(event.getTimeMillis());
+        appendField("logger", event.getLoggerName(), sb);
+        Message message = event.getMessage();
+        if (message instanceof StructuredDataMessage) {
+            StructuredDataMessage sdm = (StructuredDataMessage) message;
+            appendField("eventName", sdm.getId() != null ? sdm.getId().getName() : null, sb);
+            appendField("type", sdm.getType(), sb);
+        }
+        if (message instanceof MapMessage) {
+            sb.append(",\"attributes\":");
+            appendMap((MapMessage<?, ?>) message, sb);
+        } else {
+            sb.append(",\"message\":\"");
+            int start = sb.length();
+            if (message instanceof StringBuilderFormattable) {
+                ((StringBuilderFormattable) message).formatTo(sb);
+            } else {
+                sb.append(message.getFormattedMessage());
+            }
+            StringBuilders.escapeJson(sb, start);
+            sb.append('"');
+        }
+        if (message instanceof AuditMessage) {
+            Map<String, StructuredDataMessage> content = ((AuditMessage) message).getContent();
+            if (!content.isEmpty()) {
+                sb.append(",\"content\":{");
+                int start = sb.length();
+                for (Map.Entry<String, StructuredDataMessage> entry : content.entrySet()) {
+                    if (sb.length() > start) {
+                        sb.append(',');
+                    }
+                    appendString(entry.getKey(), sb);
+                    sb.append(':');
+                    appendMap(entry.getValue(), sb);
+                }
+                sb.append('}');
+            }
+        }
+        if (includeContext && !event.getContextData().isEmpty()) {
+            sb.append(",\"contextMap\":{");
+            event.getContextData().forEach(FIELD_WRITER, sb);
+            sb.append('}');
+        }
+        sb.append("}\n");
+    }
+
+    private static void appendMap(MapMessage<?, ?> map, StringBuilder sb) {
+        sb.append('{');
+        map.forEach(FIELD_WRITER, sb);
+        sb.append('}');
+    }
+
+    private static void appendField(String key, Object value, StringBuilder sb) {
+        char last = sb.charAt(sb.length() - 1);
+        if (last != '{') {
+            sb.append(',');
+        }
+        appendString(key, sb);
+        sb.append(':');
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof String) {
+            appendString((String) value, sb);
+        } else {
+            sb.append('"');
+            int start = sb.length();
+            StringBuilders.appendValue(sb, value);
+            StringBuilders.escapeJson(sb, start);
+            sb.append('"');
+        }
+    }
+
+    private static void appendString(String value, StringBuilder sb) {
+        sb.append('"');
+        int start = sb.length();
+        sb.append(value);
+        StringBuilders.escapeJson(sb, start);
+        sb.append('"');
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.metrics;
+
+/**
+ * Records the outcome and duration of audit events as they are validated and logged. Implementations must be
+ * thread-safe. When {@link #isEnabled()} returns false callers skip reading the clock entirely, so an
+ * instrumented logger pays no cost when metrics are not being collected.
+ */
+public interface AuditMetrics {
+
+    /**
+     * Indicates whether measurements should be recorded.
+     * @return true if this instance records measurements.
+     */
+    boolean isEnabled();
+
+    /**
+     * Records the validation of an event.
+     * @param eventName The name of the event.
+     * @param nanos The time spent validating the event, in nanoseconds.
+     * @param valid false if the event failed validation.
+     */
+    void validated(String eventName, long nanos, boolean valid);
+
+    /**
+     * Records an event that was successfully logged.
+     * @param eventName The name of the event.
+     * @param nanos The time spent logging the event, in nanoseconds.
+     */
+    void logged(String eventName, long nanos);
+
+    /**
+     * Records that an AuditExceptionHandler was called for an event.
+     * @param eventName The name of the event.
+     */
+    void handlerInvoked(String eventName);
+
+    /**
+     * Returns the measurements recorded so far.
+     * @return The AuditMetricsSnapshot.
+     */
+    AuditMetricsSnapshot snapshot();
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.metrics;
+
+/**
+ * Holds the AuditMetrics used by the AbstractEventLogger and the LogEventFactory.
+ */
+public final class AuditMetricsRegistry {
+
+    private static volatile AuditMetrics metrics = NoopAuditMetrics.INSTANCE;
+
+    private AuditMetricsRegistry() {}
+
+    public static AuditMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the AuditMetrics to record to.
+     * @param auditMetrics The AuditMetrics. If null, metrics are no longer recorded.
+     */
+    public static void setMetrics(AuditMetrics auditMetrics) {
+        metrics = auditMetrics == null ? NoopAuditMetrics.INSTANCE : auditMetrics;
+    }
+}
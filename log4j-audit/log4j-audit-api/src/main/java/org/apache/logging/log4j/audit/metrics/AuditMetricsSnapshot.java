@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The measurements recorded by an AuditMetrics at a point in time, by event name.
+ */
+public final class AuditMetricsSnapshot {
+
+    private final Map<String, EventStatistics> events;
+
+    public AuditMetricsSnapshot(Map<String, EventStatistics> events) {
+        this.events = Collections.unmodifiableMap(events);
+    }
+
+    public Map<String, EventStatistics> getEvents() {
+        return events;
+    }
+
+    public EventStatistics getEvent(String eventName) {
+        return events.get(eventName);
+    }
+
+    /**
+     * The counters and latencies recorded for one event name.
+     */
+    public static final class EventStatistics {
+        private final long logged;
+        private final long validationFailed;
+        private final long handlerInvoked;
+        private final LatencyStatistics validate;
+        private final LatencyStatistics log;
+
+        public EventStatistics(
+                long logged,
+                long validationFailed,
+                long handlerInvoked,
+                LatencyStatistics validate,
+                LatencyStatistics log) {
+            this.logged = logged;
+            this.validationFailed = validationFailed;
+            this.handlerInvoked = handlerInvoked;
+            this.validate = validate;
+            this.log = log;
+        }
+
+        public long getLogged() {
+            return logged;
+        }
+
+        public long getValidationFailed() {
+            return validationFailed;
+        }
+
+        public long getHandlerInvoked() {
+            return handlerInvoked;
+        }
+
+        public LatencyStatistics getValidate() {
+            return validate;
+        }
+
+        public LatencyStatistics getLog() {
+            return log;
+        }
+    }
+
+    /**
+     * A summary of a latency histogram. All times are in nanoseconds.
+     */
+    public static final class LatencyStatistics {
+        private final long count;
+        private final long mean;
+        private final long max;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+
+        public LatencyStatistics(long count, long mean, long max, long p50, long p90, long p99) {
+            this.count = count;
+            this.mean = mean;
+            this.max = max;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMean() {
+            return mean;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP90() {
+            return p90;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with one bucket for each power of two nanoseconds. Percentiles are reported as
+ * the upper bound of the bucket they fall in, so they are accurate to within a factor of two, which is enough to
+ * spot regressions without the memory cost of a high resolution histogram for every event.
+ */
+final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts[Long.SIZE - Long.numberOfLeadingZeros(nanos)].increment();
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    AuditMetricsSnapshot.LatencyStatistics snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            buckets[i] = counts[i].sum();
+            count += buckets[i];
+        }
+        long maxNanos = max.get();
+        return new AuditMetricsSnapshot.LatencyStatistics(
+                count,
+                count == 0 ? 0 : total.sum() / count,
+                maxNanos,
+                percentile(buckets, count, 0.50, maxNanos),
+                percentile(buckets, count, 0.90, maxNanos),
+                percentile(buckets, count, 0.99, maxNanos));
+    }
+
+    private static long percentile(long[] buckets, long count, double percentile, long maxNanos) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                long upperBound = i == 0 ? 0 : i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upperBound, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.metrics;
+
+import java.util.Collections;
+
+/**
+ * The AuditMetrics used when no instrumentation has been configured. Nothing is recorded.
+ */
+public final class NoopAuditMetrics implements AuditMetrics {
+
+    public static final NoopAuditMetrics INSTANCE = new NoopAuditMetrics();
+
+    private static final AuditMetricsSnapshot EMPTY = new AuditMetricsSnapshot(Collections.emptyMap());
+
+    private NoopAuditMetrics() {}
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void validated(String eventName, long nanos, boolean valid) {}
+
+    @Override
+    public void logged(String eventName, long nanos) {}
+
+    @Override
+    public void handlerInvoked(String eventName) {}
+
+    @Override
+    public AuditMetricsSnapshot snapshot() {
+        return EMPTY;
+    }
+}
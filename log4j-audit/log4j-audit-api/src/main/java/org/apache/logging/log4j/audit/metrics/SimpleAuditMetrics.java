@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-memory AuditMetrics that keeps counters and latency histograms for each event name.
+ */
+public class SimpleAuditMetrics implements AuditMetrics {
+
+    private final ConcurrentMap<String, EventMetrics> eventMetrics = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void validated(String eventName, long nanos, boolean valid) {
+        EventMetrics metrics = getEventMetrics(eventName);
+        metrics.validate.record(nanos);
+        if (!valid) {
+            metrics.validationFailed.increment();
+        }
+    }
+
+    @Override
+    public void logged(String eventName, long nanos) {
+        EventMetrics metrics = getEventMetrics(eventName);
+        metrics.log.record(nanos);
+        metrics.logged.increment();
+    }
+
+    @Override
+    public void handlerInvoked(String eventName) {
+        getEventMetrics(eventName).handlerInvoked.increment();
+    }
+
+    @Override
+    public AuditMetricsSnapshot snapshot() {
+        Map<String, AuditMetricsSnapshot.EventStatistics> events = new TreeMap<>();
+        eventMetrics.forEach((name, metrics) -> events.put(name, metrics.snapshot()));
+        return new AuditMetricsSnapshot(events);
+    }
+
+    /**
+     * Discards all the measurements recorded so far.
+     */
+    public void reset() {
+        eventMetrics.clear();
+    }
+
+    private EventMetrics getEventMetrics(String eventName) {
+        EventMetrics metrics = eventMetrics.get(eventName);
+        if (metrics == null) {
+            metrics = eventMetrics.computeIfAbsent(eventName, k -> new EventMetrics());
+        }
+        return metrics;
+    }
+
+    private static final class EventMetrics {
+        private final LongAdder logged = new LongAdder();
+        private final LongAdder validationFailed = new LongAdder();
+        private final LongAdder handlerInvoked = new LongAdder();
+        private final LatencyHistogram validate = new LatencyHistogram();
+        private final LatencyHistogram log = new LatencyHistogram();
+
+        private AuditMetricsSnapshot.EventStatistics snapshot() {
+            return new AuditMetricsSnapshot.EventStatistics(
+                    logged.sum(), validationFailed.sum(), handlerInvoked.sum(), validate.snapshot(), log.snapshot());
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.request;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.ThreadContext;
+
+/**
+ * Carries the RequestContext of one thread to another. The ThreadContext values are captured once, when the
+ * carrier is created, and are installed around each task that is run with it. The target thread's own
+ * ThreadContext is restored when the task completes, so pooled and virtual threads neither lose nor leak the
+ * values used to validate and log audit events.
+ * <pre>
+ * Executor executor = RequestContextCarrier.propagating(pool);
+ * CompletableFuture.supplyAsync(() -&gt; service.transfer(request), executor)
+ *         .thenAcceptAsync(result -&gt; auditLog(result), executor);
+ * </pre>
+ */
+public final class RequestContextCarrier {
+
+    private static final RequestContextCarrier EMPTY = new RequestContextCarrier(Collections.emptyMap());
+
+    private final Map<String, String> values;
+
+    private RequestContextCarrier(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Captures the contents of the calling thread's ThreadContext.
+     * @return The RequestContextCarrier.
+     */
+    public static RequestContextCarrier capture() {
+        Map<String, String> context = ThreadContext.getImmutableContext();
+        return context.isEmpty() ? EMPTY : new RequestContextCarrier(context);
+    }
+
+    /**
+     * Captures only the ThreadContext keys populated by the RequestContext mappings.
+     * @param mappings The RequestContextMappings.
+     * @return The RequestContextCarrier.
+     */
+    public static RequestContextCarrier capture(RequestContextMappings mappings) {
+        Map<String, String> context = ThreadContext.getImmutableContext();
+        if (context.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, String> values = new HashMap<>();
+        for (String key : mappings.getContextKeys()) {
+            String value = context.get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values.isEmpty() ? EMPTY : new RequestContextCarrier(Collections.unmodifiableMap(values));
+    }
+
+    /**
+     * Returns the captured values.
+     * @return An unmodifiable Map of the ThreadContext keys and values.
+     */
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    /**
+     * Runs the task with the captured values in the ThreadContext.
+     * @param task The task to run.
+     */
+    public void run(Runnable task) {
+        Map<String, String> previous = install();
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls the task with the captured values in the ThreadContext.
+     * @param task The task to call.
+     * @param <T> The type of the result.
+     * @return The result of the task.
+     * @throws Exception if the task fails.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        Map<String, String> previous = install();
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Wraps the task so that it runs with the captured values in the ThreadContext.
+     * @param task The task to wrap.
+     * @return The wrapped task.
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> run(task);
+    }
+
+    /**
+     * Wraps the Callable so that it is called with the captured values in the ThreadContext.
+     * @param task The task to wrap.
+     * @param <T> The type of the result.
+     * @return The wrapped task.
+     */
+    public <T> Callable<T> wrapCallable(Callable<T> task) {
+        return () -> call(task);
+    }
+
+    /**
+     * Wraps the Supplier so that it is called with the captured values in the ThreadContext.
+     * @param task The task to wrap.
+     * @param <T> The type of the result.
+     * @return The wrapped task.
+     */
+    public <T> Supplier<T> wrapSupplier(Supplier<T> task) {
+        return () -> {
+            Map<String, String> previous = install();
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns an Executor that runs each task with the ThreadContext of the thread that submitted it. The whole
+     * ThreadContext is carried, since callers without RequestContextMappings cannot tell which keys belong to the
+     * RequestContext. Use {@link #propagating(Executor, RequestContextMappings)} to carry only the mapped keys.
+     * @param executor The Executor that runs the tasks.
+     * @return The propagating Executor.
+     */
+    public static Executor propagating(Executor executor) {
+        return new PropagatingExecutor(executor, null);
+    }
+
+    /**
+     * Returns an Executor that runs each task with the RequestContext values of the thread that submitted it.
+     * @param executor The Executor that runs the tasks.
+     * @param mappings The RequestContextMappings that select the ThreadContext keys to carry.
+     * @return The propagating Executor.
+     */
+    public static Executor propagating(Executor executor, RequestContextMappings mappings) {
+        if (mappings == null) {
+            throw new IllegalArgumentException("RequestContextMappings must be provided");
+        }
+        return new PropagatingExecutor(executor, mappings);
+    }
+
+    /**
+     * Runs the task asynchronously with the calling thread's ThreadContext. The context remains installed while
+     * dependent stages are triggered, so stages submitted to a propagating Executor receive it as well.
+     * @param task The task.
+     * @param executor The Executor that runs the task.
+     * @return The CompletableFuture.
+     */
+    public static CompletableFuture<Void> runAsync(Runnable task, Executor executor) {
+        return CompletableFuture.runAsync(task, propagating(executor));
+    }
+
+    /**
+     * Computes a value asynchronously with the calling thread's ThreadContext. The context remains installed while
+     * dependent stages are triggered, so stages submitted to a propagating Executor receive it as well.
+     * @param task The task.
+     * @param executor The Executor that runs the task.
+     * @param <T> The type of the result.
+     * @return The CompletableFuture.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task, Executor executor) {
+        return CompletableFuture.supplyAsync(task, propagating(executor));
+    }
+
+    private Map<String, String> install() {
+        Map<String, String> previous = ThreadContext.getImmutableContext();
+        if (previous.isEmpty() && values.isEmpty()) {
+            return previous;
+        }
+        ThreadContext.clearMap();
+        if (!values.isEmpty()) {
+            ThreadContext.putAll(values);
+        }
+        return previous;
+    }
+
+    private static void restore(Map<String, String> previous) {
+        ThreadContext.clearMap();
+        if (!previous.isEmpty()) {
+            ThreadContext.putAll(previous);
+        }
+    }
+
+    private static final class PropagatingExecutor implements Executor {
+        private final Executor executor;
+        private final RequestContextMappings mappings;
+
+        private PropagatingExecutor(Executor executor, RequestContextMappings mappings) {
+            if (executor == null) {
+                throw new IllegalArgumentException("An Executor must be provided");
+            }
+            this.executor = executor;
+            this.mappings = mappings;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            RequestContextCarrier carrier = mappings != null ? capture(mappings) : capture();
+            executor.execute(carrier.wrap(command));
+        }
+    }
+}
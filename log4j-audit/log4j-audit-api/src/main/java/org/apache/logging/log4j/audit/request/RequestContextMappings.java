@@ -19,8 +19,17 @@ package org.apache.logging.log4j.audit.request;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.audit.annotation.Chained;
 import org.apache.logging.log4j.audit.annotation.ClientServer;
@@ -31,6 +40,12 @@ public class RequestContextMappings {
 
     private static final String DEFAULT_HEADER_PREFIX = "request-context-";
     private final Map<String, RequestContextMapping> mappings = new HashMap<>();
+    private final Map<String, RequestContextMapping> headerMappings = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Set<String> contextKeys = new LinkedHashSet<>();
+    private final Set<String> contextKeysView = Collections.unmodifiableSet(contextKeys);
+    private final Map<String, String> propagatedHeaders = new LinkedHashMap<>();
+    private final Map<String, String> propagatedHeadersView = Collections.unmodifiableMap(propagatedHeaders);
+    private final List<ChainedMapping> chainedMappings = new ArrayList<>();
     private final String headerPrefix;
 
     public RequestContextMappings(String fqcn) {
@@ -98,6 +113,17 @@ public class RequestContextMappings {
             }
         }
         mappings.entrySet().removeIf(a -> validateChained(a.getValue()));
+        for (RequestContextMapping mapping : mappings.values()) {
+            headerMappings.put(headerPrefix + mapping.getFieldName(), mapping);
+            contextKeys.add(mapping.getFieldName());
+            if (mapping.isChained()) {
+                contextKeys.add(mapping.getChainKey());
+                chainedMappings.add((ChainedMapping) mapping);
+            }
+            if (!mapping.isLocal()) {
+                propagatedHeaders.put(mapping.getFieldName(), headerPrefix + mapping.getFieldName());
+            }
+        }
     }
 
     public RequestContextMapping getMapping(String name) {
@@ -105,11 +131,74 @@ public class RequestContextMappings {
     }
 
     public RequestContextMapping getMappingByHeader(String header) {
-        String hdr = header.toLowerCase();
-        if (hdr.startsWith(headerPrefix)) {
-            return mappings.get(hdr.substring(headerPrefix.length()));
+        return headerMappings.get(header);
+    }
+
+    /**
+     * Converts the headers of a request to the ThreadContext keys and values they map to. Each header is looked
+     * up once by its full name, ignoring case, and its value is retrieved once. The header of a chained mapping is
+     * stored under its chain key; the Supplier for the mapping is called by {@link #resolveChained(Map)}.
+     * @param headerNames The names of the headers in the request.
+     * @param headerValues Returns the value of a header.
+     * @return The ThreadContext keys and values, in the order the headers were provided.
+     */
+    public Map<String, String> resolveHeaders(Enumeration<String> headerNames, Function<String, String> headerValues) {
+        if (headerNames == null || !headerNames.hasMoreElements()) {
+            return Collections.emptyMap();
         }
-        return null;
+        Map<String, String> values = null;
+        while (headerNames.hasMoreElements()) {
+            String name = headerNames.nextElement();
+            RequestContextMapping mapping = headerMappings.get(name);
+            if (mapping == null) {
+                continue;
+            }
+            if (values == null) {
+                values = new LinkedHashMap<>();
+            }
+            String value = headerValues.apply(name);
+            values.put(mapping.isChained() ? mapping.getChainKey() : mapping.getFieldName(), value);
+        }
+        return values != null ? values : Collections.emptyMap();
+    }
+
+    /**
+     * Calls the Supplier of each chained mapping whose chain key was resolved from the headers. The Suppliers may
+     * read the ThreadContext, so the values returned by {@link #resolveHeaders(Enumeration, Function)} must be in
+     * the ThreadContext before this is called.
+     * @param values The ThreadContext keys and values resolved from the headers.
+     * @return The ThreadContext keys and values provided by the Suppliers.
+     */
+    public Map<String, String> resolveChained(Map<String, String> values) {
+        if (values.isEmpty() || chainedMappings.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> chained = null;
+        for (ChainedMapping mapping : chainedMappings) {
+            if (values.containsKey(mapping.getChainKey())) {
+                if (chained == null) {
+                    chained = new LinkedHashMap<>();
+                }
+                chained.put(mapping.getFieldName(), mapping.getSupplier().get());
+            }
+        }
+        return chained != null ? chained : Collections.emptyMap();
+    }
+
+    /**
+     * Returns the ThreadContext keys populated by the mappings.
+     * @return The field names and chained field names.
+     */
+    public Set<String> getContextKeys() {
+        return contextKeysView;
+    }
+
+    /**
+     * Returns the ThreadContext keys that are propagated to called services along with the header each one is sent as.
+     * @return An unmodifiable Map of the header names keyed by the ThreadContext key.
+     */
+    public Map<String, String> getPropagatedHeaders() {
+        return propagatedHeadersView;
     }
 
     public String getHeaderPrefix() {
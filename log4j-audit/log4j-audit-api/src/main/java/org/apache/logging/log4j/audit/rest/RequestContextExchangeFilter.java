@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.rest;
+
+import java.util.Map;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.request.RequestContextCarrier;
+import org.apache.logging.log4j.audit.request.RequestContextMappings;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Adds headers containing the RequestContext values that have a mapping indicating they should be propagated to the
+ * service being called. This is the WebClient counterpart of the RequestContextHeaderInterceptor.
+ *
+ * Reactive pipelines do not run on the thread that holds the ThreadContext, so the values are read from the
+ * RequestContextCarrier stored in the Reactor Context by {@link #captureContext(RequestContextMappings)}. When no
+ * carrier is present the ThreadContext of the subscribing thread is used.
+ * <pre>
+ * webClient.get().uri(uri).retrieve().bodyToMono(Account.class)
+ *         .contextWrite(RequestContextExchangeFilter.captureContext(mappings));
+ * </pre>
+ */
+public class RequestContextExchangeFilter implements ExchangeFilterFunction {
+
+    /**
+     * The key of the RequestContextCarrier in the Reactor Context.
+     */
+    public static final Class<RequestContextCarrier> CONTEXT_KEY = RequestContextCarrier.class;
+
+    private final RequestContextMappings mappings;
+
+    public RequestContextExchangeFilter(RequestContextMappings mappings) {
+        this.mappings = mappings;
+    }
+
+    /**
+     * Captures the RequestContext of the calling thread so it can be written to the Reactor Context.
+     * @param mappings The RequestContextMappings.
+     * @return The Context containing the RequestContextCarrier.
+     */
+    public static Context captureContext(RequestContextMappings mappings) {
+        return Context.of(CONTEXT_KEY, RequestContextCarrier.capture(mappings));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> next.exchange(addHeaders(request, context)));
+    }
+
+    private ClientRequest addHeaders(ClientRequest request, ContextView context) {
+        Map<String, String> values = context.<RequestContextCarrier>getOrEmpty(CONTEXT_KEY)
+                .map(RequestContextCarrier::getValues)
+                .orElse(null);
+        HttpHeaders existing = request.headers();
+        ClientRequest.Builder builder = null;
+        for (Map.Entry<String, String> entry : mappings.getPropagatedHeaders().entrySet()) {
+            String value = values != null ? values.get(entry.getKey()) : ThreadContext.get(entry.getKey());
+            if (value != null && !existing.containsKey(entry.getValue())) {
+                if (builder == null) {
+                    builder = ClientRequest.from(request);
+                }
+                builder.header(entry.getValue(), value);
+            }
+        }
+        return builder != null ? builder.build() : request;
+    }
+}
@@ -16,7 +16,7 @@
  */
 package org.apache.logging.log4j.audit.rest;
 
-import java.util.Enumeration;
+import java.util.Map;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -26,9 +26,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.ThreadContext;
-import org.apache.logging.log4j.audit.request.ChainedMapping;
-import org.apache.logging.log4j.audit.request.RequestContextMapping;
 import org.apache.logging.log4j.audit.request.RequestContextMappings;
 
 /**
@@ -66,39 +63,18 @@ public class RequestContextFilter implements Filter {
     }
 
     /**
-     * Manages the initialization and clearing of the RequestContext.
+     * Manages the initialization of the RequestContext and restores the previous contents of the ThreadContext
+     * when the request completes.
      */
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) {
         if (servletRequest instanceof HttpServletRequest) {
             HttpServletRequest request = (HttpServletRequest) servletRequest;
             HttpServletResponse response = (HttpServletResponse) servletResponse;
             logger.trace("Starting request {}", request.getRequestURI());
+            Map<String, String> previous = null;
             try {
-                Enumeration<String> headers = request.getHeaderNames();
-                while (headers.hasMoreElements()) {
-                    String name = headers.nextElement();
-                    RequestContextMapping mapping = mappings.getMappingByHeader(name);
-                    logger.debug("Got Mapping:{} for Header:{}", mapping, name);
-                    if (mapping != null) {
-                        if (mapping.isChained()) {
-                            ThreadContext.put(mapping.getChainKey(), request.getHeader(name));
-                            logger.debug(
-                                    "Setting Context Key:{} with value:{}",
-                                    mapping.getChainKey(),
-                                    request.getHeader(name));
-                            String value =
-                                    ((ChainedMapping) mapping).getSupplier().get();
-                            ThreadContext.put(mapping.getFieldName(), value);
-                            logger.debug("Setting Context Key:{} with value:{}", mapping.getFieldName(), value);
-                        } else {
-                            ThreadContext.put(mapping.getFieldName(), request.getHeader(name));
-                            logger.debug(
-                                    "Setting Context Key:{} with value:{}",
-                                    mapping.getFieldName(),
-                                    request.getHeader(name));
-                        }
-                    }
-                }
+                previous = ThreadContextScope.enter(
+                        mappings.resolveHeaders(request.getHeaderNames(), request::getHeader), mappings, logger);
                 long start = 0;
                 if (logger.isTraceEnabled()) {
                     start = System.nanoTime();
@@ -116,7 +92,7 @@ public class RequestContextFilter implements Filter {
                 logger.error("Application cascaded error", e);
                 response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             } finally {
-                ThreadContext.clearMap();
+                ThreadContextScope.exit(previous);
             }
         }
     }
@@ -16,26 +16,29 @@
  */
 package org.apache.logging.log4j.audit.rest;
 
-import java.util.Enumeration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.ThreadContext;
-import org.apache.logging.log4j.audit.request.ChainedMapping;
-import org.apache.logging.log4j.audit.request.RequestContextMapping;
 import org.apache.logging.log4j.audit.request.RequestContextMappings;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
 /**
  * May be used instead of the RequestContextFilter to convert RequestContext headers to ThreadContext variables.
+ * The state of the request is kept in request attributes rather than ThreadLocals, so requests that are handled
+ * asynchronously restore the ThreadContext of each thread they run on.
  */
-public class RequestContextHandlerInterceptor implements HandlerInterceptor {
+public class RequestContextHandlerInterceptor implements AsyncHandlerInterceptor {
 
     private static final Logger logger = LogManager.getLogger(RequestContextHandlerInterceptor.class);
+    private static final String START_TIME = RequestContextHandlerInterceptor.class.getName() + ".startTime";
+    private static final String PREVIOUS_CONTEXT =
+            RequestContextHandlerInterceptor.class.getName() + ".previousContext";
     private final RequestContextMappings mappings;
-    private final ThreadLocal<Long> startTime = new ThreadLocal<>();
 
     public RequestContextHandlerInterceptor(Class<?> clazz) {
         mappings = new RequestContextMappings(clazz);
@@ -44,28 +47,17 @@ public class RequestContextHandlerInterceptor implements HandlerInterceptor {
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object o) {
         logger.trace("Starting request {}", request.getRequestURI());
-        Enumeration<String> headers = request.getHeaderNames();
-        while (headers.hasMoreElements()) {
-            String name = headers.nextElement();
-            RequestContextMapping mapping = mappings.getMappingByHeader(name);
-            logger.debug("Got Mapping:{} for Header:{}", mapping, name);
-            if (mapping != null) {
-                if (mapping.isChained()) {
-                    ThreadContext.put(mapping.getChainKey(), request.getHeader(name));
-                    logger.debug(
-                            "Setting Context Key:{} with value:{}", mapping.getChainKey(), request.getHeader(name));
-                    String value = ((ChainedMapping) mapping).getSupplier().get();
-                    ThreadContext.put(mapping.getFieldName(), value);
-                    logger.debug("Setting Context Key:{} with value:{}", mapping.getFieldName(), value);
-                } else {
-                    ThreadContext.put(mapping.getFieldName(), request.getHeader(name));
-                    logger.debug(
-                            "Setting Context Key:{} with value:{}", mapping.getFieldName(), request.getHeader(name));
-                }
-            }
+        Map<String, String> previous = ThreadContextScope.enter(
+                mappings.resolveHeaders(request.getHeaderNames(), request::getHeader), mappings, logger);
+        @SuppressWarnings("unchecked")
+        Deque<Map<String, String>> stack = (Deque<Map<String, String>>) request.getAttribute(PREVIOUS_CONTEXT);
+        if (stack == null) {
+            stack = new ArrayDeque<>();
+            request.setAttribute(PREVIOUS_CONTEXT, stack);
         }
+        stack.push(previous);
         if (logger.isTraceEnabled()) {
-            startTime.set(System.nanoTime());
+            request.setAttribute(START_TIME, System.nanoTime());
         }
         return true;
     }
@@ -74,19 +66,40 @@ public class RequestContextHandlerInterceptor implements HandlerInterceptor {
     public void postHandle(
             HttpServletRequest request, HttpServletResponse response, Object o, ModelAndView modelAndView) {
         if (logger.isTraceEnabled()) {
-            long elapsed = System.nanoTime() - startTime.get();
-            StringBuilder sb = new StringBuilder("Request ")
-                    .append(request.getRequestURI())
-                    .append(" completed in ");
-            ElapsedUtil.addElapsed(elapsed, sb);
-            logger.trace(sb.toString());
-            startTime.remove();
+            Object start = request.getAttribute(START_TIME);
+            if (start instanceof Long) {
+                long elapsed = System.nanoTime() - (Long) start;
+                StringBuilder sb = new StringBuilder("Request ")
+                        .append(request.getRequestURI())
+                        .append(" completed in ");
+                ElapsedUtil.addElapsed(elapsed, sb);
+                logger.trace(sb.toString());
+                request.removeAttribute(START_TIME);
+            }
         }
     }
 
     @Override
     public void afterCompletion(
             HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, Object o, Exception e) {
-        ThreadContext.clearMap();
+        restoreContext(httpServletRequest);
+    }
+
+    /**
+     * The request continues on another thread, so the ThreadContext of this thread is restored.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object o) {
+        restoreContext(request);
+    }
+
+    private static void restoreContext(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Deque<Map<String, String>> stack = (Deque<Map<String, String>>) request.getAttribute(PREVIOUS_CONTEXT);
+        Map<String, String> previous = stack != null ? stack.poll() : null;
+        if (stack != null && stack.isEmpty()) {
+            request.removeAttribute(PREVIOUS_CONTEXT);
+        }
+        ThreadContextScope.exit(previous);
     }
 }
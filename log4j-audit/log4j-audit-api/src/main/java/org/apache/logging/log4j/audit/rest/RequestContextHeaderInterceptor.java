@@ -19,7 +19,6 @@ package org.apache.logging.log4j.audit.rest;
 import java.io.IOException;
 import java.util.Map;
 import org.apache.logging.log4j.ThreadContext;
-import org.apache.logging.log4j.audit.request.RequestContextMapping;
 import org.apache.logging.log4j.audit.request.RequestContextMappings;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
@@ -46,15 +45,11 @@ public class RequestContextHeaderInterceptor implements ClientHttpRequestInterce
     public ClientHttpResponse intercept(
             HttpRequest httpRequest, byte[] body, ClientHttpRequestExecution clientHttpRequestExecution)
             throws IOException {
-        Map<String, String> map = ThreadContext.getImmutableContext();
         HttpHeaders headers = httpRequest.getHeaders();
-        for (Map.Entry<String, String> entry : map.entrySet()) {
-            RequestContextMapping mapping = mappings.getMapping(entry.getKey());
-            if (mapping != null && !mapping.isLocal()) {
-                String key = mappings.getHeaderPrefix() + mapping.getFieldName();
-                if (!headers.containsKey(key)) {
-                    headers.add(key, entry.getValue());
-                }
+        for (Map.Entry<String, String> entry : mappings.getPropagatedHeaders().entrySet()) {
+            String value = ThreadContext.get(entry.getKey());
+            if (value != null && !headers.containsKey(entry.getValue())) {
+                headers.add(entry.getValue(), value);
             }
         }
         return clientHttpRequestExecution.execute(httpRequest, body);
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.rest;
+
+import java.util.Map;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.request.RequestContextMappings;
+
+/**
+ * Installs the values resolved from the RequestContext headers and puts the ThreadContext back the way it was
+ * once the request has been handled, so nested and forwarded dispatches do not clear the context of the outer
+ * request.
+ */
+final class ThreadContextScope {
+
+    private ThreadContextScope() {}
+
+    /**
+     * Adds the values to the ThreadContext with a single update, then adds the values of the chained mappings,
+     * whose Suppliers may read the values just added.
+     * @param values The ThreadContext keys and values resolved from the headers.
+     * @param mappings The RequestContextMappings that resolved the values.
+     * @param logger The Logger used to report the values.
+     * @return The contents of the ThreadContext before the values were added.
+     */
+    static Map<String, String> enter(Map<String, String> values, RequestContextMappings mappings, Logger logger) {
+        Map<String, String> previous = ThreadContext.getImmutableContext();
+        if (!values.isEmpty()) {
+            ThreadContext.putAll(values);
+            Map<String, String> chained = mappings.resolveChained(values);
+            if (!chained.isEmpty()) {
+                ThreadContext.putAll(chained);
+            }
+            if (logger.isDebugEnabled()) {
+                debug(values, logger);
+                debug(chained, logger);
+            }
+        }
+        return previous;
+    }
+
+    private static void debug(Map<String, String> values, Logger logger) {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            logger.debug("Setting Context Key:{} with value:{}", entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Restores the ThreadContext.
+     * @param previous The contents returned by {@link #enter(Map, RequestContextMappings, Logger)}.
+     */
+    static void exit(Map<String, String> previous) {
+        ThreadContext.clearMap();
+        if (previous != null && !previous.isEmpty()) {
+            ThreadContext.putAll(previous);
+        }
+    }
+}
@@ -18,25 +18,34 @@ package org.apache.logging.log4j.audit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.audit.catalog.CatalogManager;
 import org.apache.logging.log4j.audit.catalog.CatalogManagerImpl;
 import org.apache.logging.log4j.audit.catalog.StringCatalogReader;
 import org.apache.logging.log4j.audit.exception.ConstraintValidationException;
+import org.apache.logging.log4j.audit.metrics.AuditMetricsRegistry;
+import org.apache.logging.log4j.audit.metrics.AuditMetricsSnapshot;
+import org.apache.logging.log4j.audit.metrics.SimpleAuditMetrics;
 import org.apache.logging.log4j.catalog.api.CatalogReader;
 import org.apache.logging.log4j.catalog.api.dao.ClassPathCatalogReader;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.message.StructuredDataMessage;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -136,6 +145,175 @@ public class AuditLoggerTest {
         auditLogger.logEvent("transfer", properties);
     }
 
+    @Test
+    public void testAsync() throws Exception {
+        auditLogger = buildAuditLogger(catalogReader);
+        auditLogger.enableAsync(16, BackpressurePolicy.BLOCK);
+        try {
+            ThreadContext.put("accountNumber", "12345");
+            ThreadContext.put("companyId", "12345");
+            ThreadContext.put("userId", "JohnDoe");
+            ThreadContext.put("ipAddress", "127.0.0.1");
+            ThreadContext.put("environment", "dev");
+            ThreadContext.put("product", "TestProduct");
+            ThreadContext.put("timeZone", "America/Phoenix");
+            ThreadContext.put("loginId", "TestUser");
+            Map<String, String> properties = new HashMap<>();
+            properties.put("toAccount", "123456");
+            properties.put("fromAccount", "111111");
+            for (int i = 0; i < 100; ++i) {
+                properties.put("amount", Integer.toString(i));
+                auditLogger.logEvent("transfer", properties);
+            }
+            properties.remove("fromAccount");
+            try {
+                auditLogger.logEvent("transfer", properties);
+                fail("Expected validation to fail on the calling thread");
+            } catch (ConstraintValidationException ex) {
+                // Expected
+            }
+            ThreadContext.put("ipAddress", "10.0.0.1");
+            assertTrue("Events were not flushed", auditLogger.flush(10, TimeUnit.SECONDS));
+        } finally {
+            assertTrue("Events were not written on shutdown", auditLogger.shutdown(10, TimeUnit.SECONDS));
+        }
+        List<String> msgs = app.getMessages();
+        assertEquals("Incorrect number of messages", 100, msgs.size());
+        for (int i = 0; i < msgs.size(); ++i) {
+            String msg = msgs.get(i);
+            assertTrue("Events are out of order", msg.contains("amount=\"" + i + "\""));
+            assertTrue("ThreadContext was not captured", msg.contains("ipAddress=\"127.0.0.1\""));
+        }
+    }
+
+    @Test
+    public void testAsyncShutdownWithBlockedProducers() throws Exception {
+        auditLogger = buildAuditLogger(catalogReader);
+        auditLogger.enableAsync(1, BackpressurePolicy.BLOCK);
+        int threadCount = 4;
+        int eventCount = 50;
+        CountDownLatch started = new CountDownLatch(threadCount);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threadCount; ++t) {
+            Thread producer = new Thread(() -> {
+                ThreadContext.put("accountNumber", "12345");
+                ThreadContext.put("companyId", "12345");
+                ThreadContext.put("userId", "JohnDoe");
+                ThreadContext.put("ipAddress", "127.0.0.1");
+                ThreadContext.put("environment", "dev");
+                ThreadContext.put("product", "TestProduct");
+                ThreadContext.put("timeZone", "America/Phoenix");
+                ThreadContext.put("loginId", "TestUser");
+                Map<String, String> properties = new HashMap<>();
+                properties.put("toAccount", "123456");
+                properties.put("fromAccount", "111111");
+                properties.put("amount", "1");
+                started.countDown();
+                for (int i = 0; i < eventCount; ++i) {
+                    auditLogger.logEvent("transfer", properties);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        started.await();
+        ThreadContext.put("caller", "shutdown");
+        auditLogger.shutdown(10, TimeUnit.SECONDS);
+        assertEquals("Caller's ThreadContext was not restored", "shutdown", ThreadContext.get("caller"));
+        assertNull("Event's ThreadContext left on the caller", ThreadContext.get("loginId"));
+        for (Thread producer : producers) {
+            producer.join(10000);
+        }
+        int expected = threadCount * eventCount;
+        assertEquals("Events were lost", expected, app.getMessages().size());
+    }
+
+    @Test
+    public void testReuseMessages() throws Exception {
+        auditLogger = buildAuditLogger(catalogReader);
+        auditLogger.setReuseMessages(true);
+
+        ThreadContext.put("accountNumber", "12345");
+        ThreadContext.put("companyId", "12345");
+        ThreadContext.put("userId", "JohnDoe");
+        ThreadContext.put("ipAddress", "127.0.0.1");
+        ThreadContext.put("environment", "dev");
+        ThreadContext.put("product", "TestProduct");
+        ThreadContext.put("timeZone", "America/Phoenix");
+        ThreadContext.put("loginId", "TestUser");
+        Map<String, String> properties = new HashMap<>();
+        properties.put("toAccount", "123456");
+        properties.put("fromAccount", "111111");
+        properties.put("amount", "111.55");
+        auditLogger.logEvent("transfer", properties);
+        auditLogger.logEvent("login", Collections.emptyMap());
+
+        List<String> msgs = app.getMessages();
+        assertEquals("Incorrect number of messages", 2, msgs.size());
+        assertTrue("No toAccount", msgs.get(0).contains("toAccount=\"123456\""));
+        assertTrue("Incorrect event", msgs.get(1).contains("[login@"));
+        assertTrue("Message was not cleared", !msgs.get(1).contains("toAccount"));
+
+        List<StructuredDataMessage> messages = new ArrayList<>();
+        AbstractEventLogger capturingLogger = new AbstractEventLogger() {
+            @Override
+            protected void logEvent(StructuredDataMessage message) {
+                messages.add(message);
+            }
+        };
+        capturingLogger.setCatalogManager(new CatalogManagerImpl(catalogReader));
+        capturingLogger.setReuseMessages(true);
+        capturingLogger.logEvent("login", Collections.emptyMap());
+        capturingLogger.logEvent("login", Collections.emptyMap());
+        assertSame("Message was not reused", messages.get(0), messages.get(1));
+
+        // Messages written on the background thread would be cached there, so they are not taken from the pool.
+        capturingLogger.enableAsync(16, BackpressurePolicy.BLOCK);
+        capturingLogger.logEvent("login", Collections.emptyMap());
+        assertTrue("Events were not written on shutdown", capturingLogger.shutdown(10, TimeUnit.SECONDS));
+        assertEquals("Incorrect number of messages", 3, messages.size());
+        assertTrue("Pooled message used asynchronously", !((AuditMessage) messages.get(2)).reusable);
+    }
+
+    @Test
+    public void testMetrics() {
+        auditLogger = buildAuditLogger(catalogReader);
+        SimpleAuditMetrics metrics = new SimpleAuditMetrics();
+        AuditMetricsRegistry.setMetrics(metrics);
+        try {
+            ThreadContext.put("accountNumber", "12345");
+            ThreadContext.put("userId", "JohnDoe");
+            ThreadContext.put("companyId", "12345");
+            ThreadContext.put("ipAddress", "127.0.0.1");
+            ThreadContext.put("environment", "dev");
+            ThreadContext.put("product", "TestProduct");
+            ThreadContext.put("timeZone", "America/Phoenix");
+            ThreadContext.put("loginId", "TestUser");
+            Map<String, String> properties = new HashMap<>();
+            properties.put("toAccount", "123456");
+            properties.put("fromAccount", "111111");
+            properties.put("amount", "111.55");
+            auditLogger.logEvent("transfer", properties);
+            properties.remove("fromAccount");
+            try {
+                auditLogger.logEvent("transfer", properties);
+                fail("Expected validation to fail");
+            } catch (ConstraintValidationException ex) {
+                // Expected
+            }
+        } finally {
+            AuditMetricsRegistry.setMetrics(null);
+        }
+        AuditMetricsSnapshot.EventStatistics stats = metrics.snapshot().getEvent("transfer");
+        assertNotNull("No metrics for transfer", stats);
+        assertEquals(1, stats.getLogged());
+        assertEquals(1, stats.getValidationFailed());
+        assertEquals(0, stats.getHandlerInvoked());
+        assertEquals(2, stats.getValidate().getCount());
+        assertEquals(1, stats.getLog().getCount());
+        assertTrue(stats.getLog().getP99() <= stats.getLog().getMax());
+    }
+
     @Test
     public void testAuditLoggerWithBasicCatalog() throws Exception {
         auditLogger = buildAuditLogger(
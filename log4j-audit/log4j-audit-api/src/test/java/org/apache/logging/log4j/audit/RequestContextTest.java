@@ -20,6 +20,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.annotation.Chained;
+import org.apache.logging.log4j.audit.annotation.Local;
 import org.apache.logging.log4j.audit.request.RequestContextMapping;
 import org.apache.logging.log4j.audit.request.RequestContextMappings;
 import org.apache.logging.log4j.audit.request.Scope;
@@ -73,4 +80,50 @@ public class RequestContextTest {
         mapping = mappings.getMapping("loginId");
         assertEquals("Incorrect scope for loginId", Scope.CLIENT_SERVER, mapping.getScope());
     }
+
+    @Test
+    public void testResolveHeaders() {
+        RequestContextMappings mappings = new RequestContextMappings(RequestContext.class);
+        assertEquals(
+                "loginId", mappings.getMappingByHeader("MyCorp-Context-LoginId").getFieldName());
+        assertNull(mappings.getMappingByHeader("loginId"));
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Mycorp-Context-LoginId", "testuser");
+        headers.put("mycorp-context-hostname", "remotehost");
+        headers.put("Accept", "application/json");
+        Map<String, String> values = mappings.resolveHeaders(Collections.enumeration(headers.keySet()), headers::get);
+        assertEquals(2, values.size());
+        assertEquals("testuser", values.get(RequestContext.LOGIN_ID));
+        assertEquals("remotehost", values.get(RequestContext.CALLING_HOST));
+        assertNull("Supplier called before the headers were resolved", values.get(RequestContext.HOST_NAME));
+        assertNotNull(mappings.resolveChained(values).get(RequestContext.HOST_NAME));
+    }
+
+    @Test
+    public void testChainedSupplierReadsThreadContext() {
+        ThreadContext.clearMap();
+        RequestContextMappings mappings = new RequestContextMappings(ChainedContext.class);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("request-context-route", "gateway");
+        Map<String, String> values = mappings.resolveHeaders(Collections.enumeration(headers.keySet()), headers::get);
+        assertEquals("gateway", values.get(ChainedContext.CALLING_ROUTE));
+        ThreadContext.putAll(values);
+        try {
+            Map<String, String> chained = mappings.resolveChained(values);
+            assertEquals("gateway/local", chained.get(ChainedContext.ROUTE));
+        } finally {
+            ThreadContext.clearMap();
+        }
+    }
+
+    public static class ChainedContext {
+        @Local
+        public static final String CALLING_ROUTE = "callingRoute";
+
+        public static final String ROUTE = "route";
+
+        @Chained(fieldName = ROUTE, chainedFieldName = CALLING_ROUTE)
+        public static final Supplier<String> ROUTE_SUPPLIER = () -> ThreadContext.get(CALLING_ROUTE) + "/local";
+    }
 }
@@ -24,6 +24,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
@@ -58,6 +59,12 @@ public class TransferTest extends BaseEventTest {
         LogEventFactory.resetDefaultHandler();
     }
 
+    @Test
+    public void testProxyIsUsedWithoutImplementation() {
+        Transfer transfer = LogEventFactory.getEvent(Transfer.class);
+        assertTrue("Transfer is not a Proxy", Proxy.isProxyClass(transfer.getClass()));
+    }
+
     @Test
     public void testValidationFailureForInvalidRequestContextAttribute() {
         MutableBoolean exceptionHandled = new MutableBoolean(false);
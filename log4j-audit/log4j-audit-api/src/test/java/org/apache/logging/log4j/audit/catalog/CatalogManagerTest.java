@@ -16,16 +16,40 @@
  */
 package org.apache.logging.log4j.audit.catalog;
 
+import static org.apache.logging.log4j.catalog.api.constant.Constants.DEFAULT_CATALOG;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.catalog.api.Attribute;
+import org.apache.logging.log4j.catalog.api.CatalogData;
 import org.apache.logging.log4j.catalog.api.Event;
+import org.apache.logging.log4j.catalog.api.dao.BinaryCatalogReader;
+import org.apache.logging.log4j.catalog.api.dao.WatchingFileCatalogReader;
+import org.apache.logging.log4j.catalog.api.util.CatalogEventFilter;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
  */
 public class CatalogManagerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testCatalog() throws Exception {
         CatalogManager manager = new CatalogManagerImpl(new StringCatalogReader());
@@ -42,4 +66,122 @@ public class CatalogManagerTest {
                 "{\"name\" : \"login\", \"displayName\" : \"Login\", \"description\" : \"User Login\", \"attributes\" : []}",
                 login.toString());
     }
+
+    @Test
+    public void testUsesParsedCatalog() throws Exception {
+        CatalogManager manager = new CatalogManagerImpl(new StringCatalogReader() {
+            @Override
+            public String readCatalog() {
+                throw new AssertionError("The catalog text should not be parsed");
+            }
+        });
+        assertNotNull("No transfer event", manager.getEvent("transfer"));
+    }
+
+    @Test
+    public void testValidationPlanIsCached() throws Exception {
+        CatalogManager manager = new CatalogManagerImpl(new StringCatalogReader());
+        EventValidationPlan plan = manager.getValidationPlan("transfer");
+        assertNotNull("No validation plan for transfer", plan);
+        assertSame("Validation plan was rebuilt", plan, manager.getValidationPlan("transfer"));
+        assertNull("Validation plan for unknown event", manager.getValidationPlan("unknown"));
+    }
+
+    @Test
+    public void testUpdateCreatesNewSnapshot() throws Exception {
+        CatalogManagerImpl manager = new CatalogManagerImpl(new StringCatalogReader());
+        CatalogSnapshot before = manager.getSnapshot();
+        EventValidationPlan plan = manager.getValidationPlan("transfer");
+        Event event = new Event();
+        event.setName("audit");
+        event.setCatalogId(DEFAULT_CATALOG);
+        event.setAttributes(new ArrayList<>());
+        manager.addEvent(event);
+        assertNotNull("New event was not added", manager.getEvent("audit"));
+        assertNull("Previous snapshot was modified", before.getEventInfo("audit", null));
+        assertSame("Unchanged event was rebuilt", plan, manager.getValidationPlan("transfer"));
+    }
+
+    @Test
+    public void testReloadAppliesChanges() throws Exception {
+        File catalogFile = folder.newFile("catalog.json");
+        String catalog = new StringCatalogReader().readCatalog();
+        Files.write(catalogFile.toPath(), catalog.getBytes(StandardCharsets.UTF_8));
+        try (WatchingFileCatalogReader reader =
+                new WatchingFileCatalogReader(Collections.singletonMap("catalogFile", catalogFile.getAbsolutePath()))) {
+            CatalogManagerImpl manager = new CatalogManagerImpl(reader);
+            EventValidationPlan plan = manager.getValidationPlan("transfer");
+            assertNotNull("No login event", manager.getEvent("login"));
+            assertNotNull("No login event in reader", reader.getEvent("login"));
+            assertNotNull("No amount attribute in reader", reader.getAttribute("amount", DEFAULT_CATALOG));
+
+            ObjectMapper mapper = new ObjectMapper()
+                    .setFilterProvider(new SimpleFilterProvider().addFilter("catalogEvent", new CatalogEventFilter()));
+            CatalogData data = mapper.readValue(catalog, CatalogData.class);
+            data.getEvents().removeIf(e -> e.getName().equals("login"));
+            Event event = new Event();
+            event.setName("audit");
+            event.setAttributes(new ArrayList<>());
+            data.getEvents().add(event);
+            Files.write(catalogFile.toPath(), mapper.writeValueAsBytes(data));
+
+            long timeout = System.currentTimeMillis() + 10000;
+            while (manager.getEvent("audit") == null && System.currentTimeMillis() < timeout) {
+                Thread.sleep(50);
+            }
+            assertNotNull("New event was not added", manager.getEvent("audit"));
+            assertNull("Removed event is still present", manager.getEvent("login"));
+            assertSame("Unchanged event was rebuilt", plan, manager.getValidationPlan("transfer"));
+            assertNotNull("Reader index was not rebuilt", reader.getEvent("audit"));
+            assertNull("Reader index contains removed event", reader.getEvent("login"));
+        }
+    }
+
+    @Test
+    public void testReloadRetriesRejectedChanges() throws Exception {
+        File catalogFile = folder.newFile("catalog.json");
+        String catalog = new StringCatalogReader().readCatalog();
+        Files.write(catalogFile.toPath(), catalog.getBytes(StandardCharsets.UTF_8));
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("catalogFile", catalogFile.getAbsolutePath());
+        attributes.put("quietPeriod", "60000");
+        try (WatchingFileCatalogReader reader = new WatchingFileCatalogReader(attributes)) {
+            CatalogManagerImpl manager = new CatalogManagerImpl(reader);
+            ObjectMapper mapper = new ObjectMapper()
+                    .setFilterProvider(new SimpleFilterProvider().addFilter("catalogEvent", new CatalogEventFilter()));
+            CatalogData data = mapper.readValue(catalog, CatalogData.class);
+            Event event = new Event();
+            event.setName("audit");
+            event.setAttributes(new ArrayList<>());
+            data.getEvents().add(event);
+            List<Attribute> defined = new ArrayList<>(data.getAttributes());
+
+            // The transfer event still uses the amount attribute, so the manager rejects the change.
+            data.getAttributes().removeIf(a -> a.getName().equals("amount"));
+            Files.write(catalogFile.toPath(), mapper.writeValueAsBytes(data));
+            reader.reload();
+            assertNull("Invalid catalog was applied", manager.getEvent("audit"));
+            assertNotNull("Attribute was removed", manager.getAttribute("amount"));
+
+            data.setAttributes(defined);
+            Files.write(catalogFile.toPath(), mapper.writeValueAsBytes(data));
+            reader.reload();
+            assertNotNull("Changes rejected earlier were not applied", manager.getEvent("audit"));
+            assertNotNull("Attribute is missing", manager.getAttribute("amount"));
+        }
+    }
+
+    @Test
+    public void testBinaryCatalog() throws Exception {
+        File catalogFile = folder.newFile("catalog.smile");
+        BinaryCatalogReader.write(new StringCatalogReader().read(), catalogFile);
+        BinaryCatalogReader reader =
+                new BinaryCatalogReader(Collections.singletonMap("catalogFile", catalogFile.getAbsolutePath()));
+        assertNotNull("No transfer event in reader", reader.getEvent("transfer"));
+        CatalogManager manager = new CatalogManagerImpl(reader);
+        Event event = manager.getEvent("transfer");
+        assertNotNull("No transfer event", event);
+        assertEquals(3, event.getAttributes().size());
+        assertNotNull("No validation plan for login", manager.getValidationPlan("login"));
+    }
 }
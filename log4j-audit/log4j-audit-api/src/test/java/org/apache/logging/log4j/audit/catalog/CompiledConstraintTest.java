@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.regex.PatternSyntaxException;
+import org.apache.logging.log4j.catalog.api.ConstraintType;
+import org.apache.logging.log4j.catalog.api.plugins.CaseInsensitiveEnumConstraint;
+import org.apache.logging.log4j.catalog.api.plugins.EnumConstraint;
+import org.apache.logging.log4j.catalog.api.plugins.MaxLengthConstraint;
+import org.apache.logging.log4j.catalog.api.plugins.MaxValueConstraint;
+import org.apache.logging.log4j.catalog.api.plugins.MinLengthConstraint;
+import org.apache.logging.log4j.catalog.api.plugins.MinValueConstraint;
+import org.apache.logging.log4j.catalog.api.plugins.PatternConstraint;
+import org.junit.Test;
+
+/**
+ * Verifies that each compiled constraint reports the same errors as the ConstraintType's validate method.
+ */
+public class CompiledConstraintTest {
+
+    @Test
+    public void testPattern() {
+        ConstraintType constraint = new PatternConstraint();
+        assertValid(constraint, "[a-z]+", "abc");
+        assertValid(constraint, "[a-z]+", "");
+        assertError(constraint, "[a-z]+", "ABC", "attr does not match pattern [a-z]+");
+        assertValid(constraint, "", "ABC");
+    }
+
+    @Test
+    public void testInvalidPattern() {
+        ConstraintType constraint = new PatternConstraint();
+        assertValid(constraint, "[a-z", "");
+        PatternSyntaxException first = invalidPattern(constraint);
+        PatternSyntaxException second = invalidPattern(constraint);
+        assertNotSame("The same exception was thrown twice", first, second);
+        assertEquals("Incorrect pattern", "[a-z", second.getPattern());
+    }
+
+    @Test
+    public void testEnum() {
+        ConstraintType constraint = new EnumConstraint();
+        assertValid(constraint, "red, green ,blue", "green");
+        assertError(constraint, "red,green,blue", "Green", "attr does not match one of the values: red,green,blue");
+        assertValid(constraint, "", "yellow");
+    }
+
+    @Test
+    public void testCaseInsensitiveEnum() {
+        ConstraintType constraint = new CaseInsensitiveEnumConstraint();
+        assertValid(constraint, "red, green ,blue", "GREEN");
+        assertError(constraint, "red,green,blue", "yellow", "attr does not match one of the values: red,green,blue");
+        // Matches the same values as String.equalsIgnoreCase, which compares each character in upper case.
+        assertTrue("ı".equalsIgnoreCase("I"));
+        assertValid(constraint, "I,J", "ı");
+    }
+
+    @Test
+    public void testMinLength() {
+        ConstraintType constraint = new MinLengthConstraint();
+        assertValid(constraint, "3", "abc");
+        assertError(constraint, "3", "ab", "attr does not contain 3 characters.");
+        assertError(constraint, "", "ab", "attr has no minimum length value defined");
+        assertTrue(validate(constraint, "x", "ab").startsWith("attr encountered an error"));
+    }
+
+    @Test
+    public void testMaxLength() {
+        ConstraintType constraint = new MaxLengthConstraint();
+        assertValid(constraint, "3", "abc");
+        assertError(constraint, "3", "abcd", "attr exceeds 3 characters.");
+        assertError(constraint, "", "ab", "attr has no maximum length value defined");
+        assertTrue(validate(constraint, "x", "ab").startsWith("attr encountered an error"));
+    }
+
+    @Test
+    public void testMinValue() {
+        ConstraintType constraint = new MinValueConstraint();
+        assertValid(constraint, "1", "1.5");
+        assertError(constraint, "1", "0", "attr is less than 1");
+        assertError(constraint, "", "0", "attr has no value for the minimum value defined");
+        assertTrue(validate(constraint, "1", "abc").startsWith("attr encountered an error"));
+        assertTrue(validate(constraint, "x", "1").startsWith("attr encountered an error"));
+    }
+
+    @Test
+    public void testMaxValue() {
+        ConstraintType constraint = new MaxValueConstraint();
+        assertValid(constraint, "10", "9.99");
+        assertFalse(
+                "Value above the maximum accepted",
+                validate(constraint, "10", "11").isEmpty());
+        assertTrue(validate(constraint, "10", "abc").startsWith("attr encountered an error"));
+    }
+
+    @Test
+    public void testRequestContextPrefix() {
+        StringBuilder error = new StringBuilder();
+        new MinValueConstraint().compile("1").validate(true, "attr", "0", error);
+        assertEquals("ThreadContext key attr is less than 1", error.toString());
+    }
+
+    private static void assertValid(ConstraintType constraint, String constraintValue, String value) {
+        assertEquals("Unexpected error", "", validate(constraint, constraintValue, value));
+    }
+
+    private static void assertError(ConstraintType constraint, String constraintValue, String value, String expected) {
+        assertEquals("Incorrect error", expected, validate(constraint, constraintValue, value));
+    }
+
+    /**
+     * Validates the value through the ConstraintType and through a newly compiled constraint and checks that both
+     * report the same errors.
+     */
+    private static String validate(ConstraintType constraint, String constraintValue, String value) {
+        StringBuilder validated = new StringBuilder();
+        constraint.validate(false, "attr", value, constraintValue, validated);
+        StringBuilder compiled = new StringBuilder();
+        constraint.compile(constraintValue).validate(false, "attr", value, compiled);
+        assertEquals("Compiled constraint differs from validate", validated.toString(), compiled.toString());
+        return compiled.toString();
+    }
+
+    private static PatternSyntaxException invalidPattern(ConstraintType constraint) {
+        try {
+            constraint.validate(false, "attr", "abc", "[a-z", new StringBuilder());
+            fail("Invalid pattern was not reported");
+            return null;
+        } catch (PatternSyntaxException ex) {
+            return ex;
+        }
+    }
+}
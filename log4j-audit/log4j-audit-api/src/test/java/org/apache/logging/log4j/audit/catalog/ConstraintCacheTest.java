@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
+import org.apache.logging.log4j.catalog.api.plugins.ConstraintCache;
+import org.junit.Test;
+
+public class ConstraintCacheTest {
+
+    private final AtomicInteger compiles = new AtomicInteger();
+
+    private CompiledConstraint compile(String constraintValue) {
+        compiles.incrementAndGet();
+        return (isRequestContext, name, value, error) -> error.append(constraintValue);
+    }
+
+    @Test
+    public void testCacheHit() {
+        ConstraintCache cache = new ConstraintCache(this::compile);
+        CompiledConstraint compiled = cache.get("a");
+        assertSame("Constraint was not cached", compiled, cache.get("a"));
+        assertEquals("Constraint was compiled again", 1, compiles.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testNullIsNotCached() {
+        ConstraintCache cache = new ConstraintCache(this::compile);
+        cache.get(null);
+        cache.get(null);
+        assertEquals("Null constraint was not compiled each time", 2, compiles.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEvictionAtMaxSize() {
+        ConstraintCache cache = new ConstraintCache(this::compile, 2);
+        cache.get("a");
+        cache.get("b");
+        cache.get("c");
+        assertEquals("Cache exceeded its maximum size", 2, cache.size());
+        assertEquals(3, compiles.get());
+
+        ConstraintCache single = new ConstraintCache(this::compile, 1);
+        CompiledConstraint a = single.get("a");
+        single.get("b");
+        assertEquals("Cache exceeded its maximum size", 1, single.size());
+        assertNotSame("Evicted constraint was returned", a, single.get("a"));
+        assertEquals("Evicted constraint was not compiled again", 6, compiles.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxSize() {
+        new ConstraintCache(this::compile, 0);
+    }
+}
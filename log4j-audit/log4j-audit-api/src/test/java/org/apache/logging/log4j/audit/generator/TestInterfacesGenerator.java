@@ -17,17 +17,40 @@
 package org.apache.logging.log4j.audit.generator;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.audit.AuditEvent;
+import org.apache.logging.log4j.audit.LogEventFactory;
+import org.apache.logging.log4j.audit.exception.AuditException;
+import org.apache.logging.log4j.audit.exception.ConstraintValidationException;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 
@@ -35,6 +58,10 @@ public class TestInterfacesGenerator {
     private static final Logger logger = LogManager.getLogger(TestInterfacesGenerator.class);
     private static ApplicationContext context;
     private static final String GENERATED_SOURCE_DIR = "target/generated-sources/log4j-audit/";
+    private static final String PACKAGE_NAME = "org.apache.logging.log4j.audit.generated";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     @BeforeClass
     public static void initTest() {
@@ -57,7 +84,7 @@ public class TestInterfacesGenerator {
             ex.printStackTrace();
             throw ex;
         }
-        Path p = Paths.get(GENERATED_SOURCE_DIR);
+        Path p = Paths.get(GENERATED_SOURCE_DIR, PACKAGE_NAME.split("\\."));
         assertNotNull("Could not locate generated source path", p);
         int maxDepth = 10;
         List<String> fileNames = new ArrayList<>();
@@ -65,6 +92,51 @@ public class TestInterfacesGenerator {
                         .endsWith(".java"))
                 .map(path -> path.getFileName().toString())
                 .forEach(fileNames::add);
-        assertEquals("Incorrect number of files generated. Expected 4 was " + fileNames.size(), 4, fileNames.size());
+        assertEquals("Incorrect number of files generated. Expected 8 was " + fileNames.size(), 8, fileNames.size());
+        assertTrue("No implementation generated for Transfer", fileNames.contains("TransferImpl.java"));
+
+        File classesDir = folder.newFolder("classes");
+        compile(p, classesDir);
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[] {classesDir.toURI().toURL()}, getClass().getClassLoader())) {
+            Class<? extends AuditEvent> transferClass =
+                    loader.loadClass(PACKAGE_NAME + ".Transfer").asSubclass(AuditEvent.class);
+            AuditEvent transfer = LogEventFactory.getEvent(transferClass);
+            assertFalse("Proxy used instead of TransferImpl", Proxy.isProxyClass(transfer.getClass()));
+            assertEquals(
+                    "Incorrect implementation",
+                    PACKAGE_NAME + ".TransferImpl",
+                    transfer.getClass().getName());
+            transferClass.getMethod("setAmount", BigDecimal.class).invoke(transfer, new BigDecimal("10.00"));
+            Method setToAccount = transferClass.getMethod("setToAccount", int.class);
+            setToAccount.invoke(transfer, 123456);
+            try {
+                setToAccount.invoke(transfer, 0);
+                fail("Constraint was not validated");
+            } catch (InvocationTargetException ex) {
+                assertTrue("Incorrect exception " + ex.getCause(), ex.getCause() instanceof AuditException);
+                assertTrue(
+                        "Incorrect cause " + ex.getCause().getCause(),
+                        ex.getCause().getCause() instanceof ConstraintValidationException);
+            }
+        }
+    }
+
+    private static void compile(Path sourceDir, File classesDir) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("No Java compiler available", compiler);
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<File> sources;
+            try (Stream<Path> paths = Files.list(sourceDir)) {
+                sources = paths.map(Path::toFile).collect(Collectors.toList());
+            }
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sources);
+            List<String> options = Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"), "-d", classesDir.getAbsolutePath());
+            assertTrue(
+                    "Generated sources did not compile",
+                    compiler.getTask(null, fileManager, null, options, null, units)
+                            .call());
+        }
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.layout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.AuditMessage;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.ThreadContextDataInjector;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
+import org.apache.logging.log4j.message.StructuredDataMessage;
+import org.junit.After;
+import org.junit.Test;
+
+public class AuditLayoutTest {
+
+    @After
+    public void after() {
+        ThreadContext.clearMap();
+    }
+
+    @Test
+    public void testLayout() throws Exception {
+        ThreadContext.put("loginId", "jdoe");
+        AuditMessage msg = new AuditMessage("transfer", 32);
+        msg.put("amount", "100.00");
+        msg.put("toAccount", "say \"hi\"");
+        StructuredDataMessage memo = new StructuredDataMessage("memo", null, "Memo");
+        memo.put("text", "Rent");
+        msg.addContent("memo", memo);
+        LogEvent event = Log4jLogEvent.newBuilder()
+                .setLoggerName("AuditLogger")
+                .setLevel(Level.OFF)
+                .setMessage(msg)
+                .setTimeMillis(1500000000000L)
+                .setContextData(
+                        new ThreadContextDataInjector.ForDefaultThreadContextMap().injectContextData(null, null))
+                .build();
+
+        AuditLayout layout = AuditLayout.createLayout(StandardCharsets.UTF_8, true);
+        String json = layout.toSerializable(event);
+        assertTrue("Missing newline", json.endsWith("\n"));
+        JsonNode node = new ObjectMapper().readTree(json);
+        assertEquals(1500000000000L, node.get("timeMillis").asLong());
+        assertEquals("AuditLogger", node.get("logger").asText());
+        assertEquals("transfer", node.get("eventName").asText());
+        assertEquals("Audit", node.get("type").asText());
+        assertEquals("100.00", node.get("attributes").get("amount").asText());
+        assertEquals("say \"hi\"", node.get("attributes").get("toAccount").asText());
+        assertEquals("Rent", node.get("content").get("memo").get("text").asText());
+        assertEquals("jdoe", node.get("contextMap").get("loginId").asText());
+
+        CapturingDestination destination = new CapturingDestination();
+        layout.encode(event, destination);
+        assertEquals(json, destination.getContent());
+
+        layout = AuditLayout.createLayout(StandardCharsets.UTF_8, false);
+        node = new ObjectMapper().readTree(layout.toSerializable(event));
+        assertTrue("Context should not be included", node.get("contextMap") == null);
+    }
+
+    private static class CapturingDestination implements ByteBufferDestination {
+        private final ByteBuffer buffer = ByteBuffer.allocate(64);
+        private final StringBuilder content = new StringBuilder();
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public ByteBuffer drain(ByteBuffer buf) {
+            buf.flip();
+            content.append(StandardCharsets.UTF_8.decode(buf));
+            buf.clear();
+            return buf;
+        }
+
+        @Override
+        public void writeBytes(ByteBuffer data) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+        }
+
+        @Override
+        public void writeBytes(byte[] data, int offset, int length) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, offset, length, this);
+        }
+
+        private String getContent() {
+            drain(buffer);
+            return content.toString();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.RequestContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestContextCarrierTest {
+
+    private ExecutorService pool;
+
+    @Before
+    public void before() throws Exception {
+        ThreadContext.clearMap();
+        pool = Executors.newSingleThreadExecutor();
+        pool.submit(() -> ThreadContext.put(RequestContext.LOGIN_ID, "stale")).get();
+    }
+
+    @After
+    public void after() throws Exception {
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+        ThreadContext.clearMap();
+    }
+
+    @Test
+    public void testPropagation() throws Exception {
+        ThreadContext.put(RequestContext.LOGIN_ID, "testuser");
+        ThreadContext.put(RequestContext.USER_ID, "12345");
+
+        String loginId = RequestContextCarrier.supplyAsync(() -> ThreadContext.get(RequestContext.LOGIN_ID), pool)
+                .thenApplyAsync(
+                        id -> id + ":" + ThreadContext.get(RequestContext.USER_ID),
+                        RequestContextCarrier.propagating(pool))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals("testuser:12345", loginId);
+
+        Map<String, String> poolContext =
+                pool.submit(ThreadContext::getImmutableContext).get();
+        assertEquals("Pool thread context was not restored", "stale", poolContext.get(RequestContext.LOGIN_ID));
+        assertNull(poolContext.get(RequestContext.USER_ID));
+    }
+
+    @Test
+    public void testCaptureMappedKeys() {
+        ThreadContext.put(RequestContext.LOGIN_ID, "testuser");
+        ThreadContext.put("unmapped", "value");
+        RequestContextCarrier carrier = RequestContextCarrier.capture(new RequestContextMappings(RequestContext.class));
+        assertEquals("testuser", carrier.getValues().get(RequestContext.LOGIN_ID));
+        assertFalse(carrier.getValues().containsKey("unmapped"));
+
+        ThreadContext.clearMap();
+        carrier.run(() -> assertEquals("testuser", ThreadContext.get(RequestContext.LOGIN_ID)));
+        assertTrue(ThreadContext.isEmpty());
+    }
+
+    @Test
+    public void testWrapLambdas() throws Exception {
+        ThreadContext.put(RequestContext.LOGIN_ID, "testuser");
+        RequestContextCarrier carrier = RequestContextCarrier.capture();
+        ThreadContext.clearMap();
+
+        assertEquals(
+                "testuser",
+                pool.submit(carrier.wrapCallable(() -> ThreadContext.get(RequestContext.LOGIN_ID)))
+                        .get());
+        assertEquals(
+                "testuser",
+                pool.submit(() -> carrier.wrapSupplier(() -> ThreadContext.get(RequestContext.LOGIN_ID))
+                                .get())
+                        .get());
+        assertEquals(
+                "stale",
+                pool.submit(() -> ThreadContext.get(RequestContext.LOGIN_ID)).get());
+    }
+
+    @Test
+    public void testPropagatingMappedKeys() throws Exception {
+        ThreadContext.put(RequestContext.LOGIN_ID, "testuser");
+        ThreadContext.put("unmapped", "value");
+        Executor executor = RequestContextCarrier.propagating(pool, new RequestContextMappings(RequestContext.class));
+
+        Map<String, String> context = CompletableFuture.supplyAsync(ThreadContext::getImmutableContext, executor)
+                .get(5, TimeUnit.SECONDS);
+        assertEquals("testuser", context.get(RequestContext.LOGIN_ID));
+        assertFalse(context.containsKey("unmapped"));
+    }
+}
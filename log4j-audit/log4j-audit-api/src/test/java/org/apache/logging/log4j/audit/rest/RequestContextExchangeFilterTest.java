@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.RequestContext;
+import org.apache.logging.log4j.audit.request.RequestContextMappings;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+public class RequestContextExchangeFilterTest {
+
+    @After
+    public void after() {
+        ThreadContext.clearMap();
+    }
+
+    @Test
+    public void testHeadersFromReactorContext() {
+        RequestContextMappings mappings = new RequestContextMappings(RequestContext.class);
+        ThreadContext.clearMap();
+        ThreadContext.put(RequestContext.LOGIN_ID, "testuser");
+        ThreadContext.put(RequestContext.CALLING_HOST, "localOnly");
+        Context context = RequestContextExchangeFilter.captureContext(mappings);
+        ThreadContext.clearMap();
+
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/accounts"))
+                .header("mycorp-context-userId", "caller")
+                .build();
+        new RequestContextExchangeFilter(mappings)
+                .filter(request, req -> {
+                    sent.set(req);
+                    return Mono.<ClientResponse>empty();
+                })
+                .contextWrite(context)
+                .block();
+
+        assertEquals("testuser", sent.get().headers().getFirst("mycorp-context-loginId"));
+        assertEquals("caller", sent.get().headers().getFirst("mycorp-context-userId"));
+        assertFalse(sent.get().headers().containsKey("mycorp-context-callingHost"));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.RequestContext;
+import org.junit.After;
+import org.junit.Test;
+
+public class RequestContextFilterTest {
+
+    @After
+    public void after() {
+        ThreadContext.clearMap();
+    }
+
+    @Test
+    public void testRestoresPreviousContext() throws Exception {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("mycorp-context-loginId", "testuser");
+        headers.put("mycorp-context-userId", "12345");
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getHeaderNames":
+                            return Collections.enumeration(headers.keySet());
+                        case "getHeader":
+                            return headers.get((String) args[0]);
+                        default:
+                            return null;
+                    }
+                });
+        HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {HttpServletResponse.class}, (proxy, method, args) -> null);
+
+        Map<String, String> seen = new HashMap<>();
+        FilterChain chain = (req, resp) -> seen.putAll(ThreadContext.getImmutableContext());
+        RequestContextFilter filter = new RequestContextFilter(RequestContext.class);
+        filter.init(null);
+
+        ThreadContext.clearMap();
+        ThreadContext.put(RequestContext.LOGIN_ID, "outer");
+        ThreadContext.put(RequestContext.REQUEST_ID, "request");
+        filter.doFilter(request, response, chain);
+
+        assertEquals("testuser", seen.get(RequestContext.LOGIN_ID));
+        assertEquals("12345", seen.get(RequestContext.USER_ID));
+        assertEquals("request", seen.get(RequestContext.REQUEST_ID));
+        assertEquals("outer", ThreadContext.get(RequestContext.LOGIN_ID));
+        assertEquals("request", ThreadContext.get(RequestContext.REQUEST_ID));
+        assertNull(ThreadContext.get(RequestContext.USER_ID));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.plugin;
+
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.catalog.api.CatalogReader;
+import org.apache.logging.log4j.util.LoaderUtil;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Base class for the goals that read the catalog.
+ */
+public abstract class AbstractCatalogMojo extends AbstractMojo {
+
+    private static final String BASEDIR = "baseDir";
+    private static final String BUILDDIR = "buildDir";
+
+    @Parameter(defaultValue = "${project}")
+    protected MavenProject project;
+
+    @Parameter(
+            property = "catalogReaderClassName",
+            defaultValue = "org.apache.logging.log4j.catalog.api.dao.FileCatalogReader")
+    private String catalogReaderClassName;
+
+    @Parameter(property = "catalogReaderAttributes", required = false)
+    private Map<String, String> catalogReaderAttributes;
+
+    /**
+     * Creates the configured CatalogReader.
+     * @return The CatalogReader or null if it could not be created.
+     */
+    @SuppressWarnings("unchecked")
+    protected CatalogReader createCatalogReader() {
+        CatalogReader catalogReader = null;
+        try {
+            Class<?> clazz = LoaderUtil.loadClass(catalogReaderClassName);
+            Constructor<CatalogReader>[] constructors = (Constructor<CatalogReader>[]) clazz.getConstructors();
+
+            for (Constructor<CatalogReader> constructor : constructors) {
+                if (constructor.getParameterCount() == 1
+                        && constructor.getParameterTypes()[0].isAssignableFrom(Map.class)) {
+                    if (catalogReaderAttributes == null) {
+                        catalogReaderAttributes = new HashMap<>();
+                    }
+                    if (!catalogReaderAttributes.containsKey(BASEDIR)) {
+                        catalogReaderAttributes.put(
+                                BASEDIR, project.getBasedir().getAbsolutePath());
+                    }
+                    if (!catalogReaderAttributes.containsKey(BUILDDIR)) {
+                        catalogReaderAttributes.put(BUILDDIR, project.getBuild().getDirectory());
+                    }
+                    catalogReader = constructor.newInstance(catalogReaderAttributes);
+                    break;
+                }
+            }
+            if (catalogReader == null) {
+                catalogReader = LoaderUtil.newInstanceOf(catalogReaderClassName);
+            }
+        } catch (Exception ex) {
+            getLog().error("Unable to load catalog reader " + catalogReaderClassName, ex);
+            return null;
+        }
+        return catalogReader;
+    }
+}
@@ -17,42 +17,23 @@
 package org.apache.logging.log4j.audit.plugin;
 
 import java.io.File;
-import java.lang.reflect.Constructor;
-import java.util.HashMap;
-import java.util.Map;
 import org.apache.logging.log4j.audit.generator.InterfacesGenerator;
 import org.apache.logging.log4j.catalog.api.CatalogReader;
 import org.apache.logging.log4j.catalog.api.dao.JsonCatalogReader;
-import org.apache.logging.log4j.util.LoaderUtil;
-import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
-import org.apache.maven.project.MavenProject;
 
 /**
  * Goal which generates the audit interfaces.
  */
 @Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
-public class AuditMojo extends AbstractMojo {
+public class AuditMojo extends AbstractCatalogMojo {
 
-    private static final String BASEDIR = "baseDir";
-    private static final String BUILDDIR = "buildDir";
     private static final int MAX_KEY_LENGTH = 32;
     private static final int DEFAULT_ENTERPRISE_ID = 18060;
 
-    @Parameter(defaultValue = "${project}")
-    private MavenProject project;
-
-    @Parameter(
-            property = "catalogReaderClassName",
-            defaultValue = "org.apache.logging.log4j.catalog.api.dao.FileCatalogReader")
-    private String catalogReaderClassName;
-
-    @Parameter(property = "catalogReaderAttributes", required = false)
-    private Map<String, String> catalogReaderAttributes;
-
     @Parameter(property = "packageName", required = true)
     private String packageName;
     /**
@@ -73,7 +54,13 @@ public class AuditMojo extends AbstractMojo {
     @Parameter(defaultValue = "false")
     private boolean verbose;
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Set to <code>true</code> to generate an implementation class for each audit interface. The generated
+     * classes are used by LogEventFactory instead of a dynamic Proxy.
+     */
+    @Parameter(defaultValue = "false", property = "generateImplementations")
+    private boolean generateImplementations;
+
     public void execute() throws MojoExecutionException {
         if (maxKeyLength <= 0) {
             maxKeyLength = MAX_KEY_LENGTH;
@@ -81,35 +68,8 @@ public class AuditMojo extends AbstractMojo {
         if (enterpriseId <= 0) {
             enterpriseId = DEFAULT_ENTERPRISE_ID;
         }
-        CatalogReader catalogReader = null;
-        try {
-            File basedir = project.getBasedir();
-            Class<?> clazz = LoaderUtil.loadClass(catalogReaderClassName);
-            Constructor<CatalogReader>[] constructors = (Constructor<CatalogReader>[]) clazz.getConstructors();
-
-            for (Constructor<CatalogReader> constructor : constructors) {
-                if (constructor.getParameterCount() == 1
-                        && constructor.getParameterTypes()[0].isAssignableFrom(Map.class)) {
-                    if (catalogReaderAttributes == null) {
-                        catalogReaderAttributes = new HashMap<>();
-                    }
-                    if (!catalogReaderAttributes.containsKey(BASEDIR)) {
-                        catalogReaderAttributes.put(
-                                BASEDIR, project.getBasedir().getAbsolutePath());
-                    }
-                    if (!catalogReaderAttributes.containsKey(BUILDDIR)) {
-                        catalogReaderAttributes.put(BUILDDIR, project.getBuild().getDirectory());
-                    }
-                    catalogReader = constructor.newInstance(catalogReaderAttributes);
-                    break;
-                }
-            }
-            if (catalogReader == null) {
-                catalogReader = LoaderUtil.newInstanceOf(catalogReaderClassName);
-            }
-
-        } catch (Exception ex) {
-            getLog().error("Unable to load catalog reader " + catalogReaderClassName, ex);
+        CatalogReader catalogReader = createCatalogReader();
+        if (catalogReader == null) {
             return;
         }
         InterfacesGenerator generator = new InterfacesGenerator();
@@ -122,6 +82,7 @@ public class AuditMojo extends AbstractMojo {
         generator.setMaxKeyLength(maxKeyLength);
         generator.setEnterpriseId(enterpriseId);
         generator.setVerbose(verbose);
+        generator.setGenerateImplementations(generateImplementations);
         try {
             generator.generateSource();
             project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.plugin;
+
+import java.io.File;
+import org.apache.logging.log4j.catalog.api.CatalogData;
+import org.apache.logging.log4j.catalog.api.CatalogReader;
+import org.apache.logging.log4j.catalog.api.dao.BinaryCatalogReader;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Goal which compiles the catalog into the binary format read by the BinaryCatalogReader.
+ */
+@Mojo(name = "compile-catalog", defaultPhase = LifecyclePhase.GENERATE_RESOURCES, threadSafe = true)
+public class CompileCatalogMojo extends AbstractCatalogMojo {
+
+    /**
+     * The file the compiled catalog is written to.
+     */
+    @Parameter(
+            defaultValue = "${project.build.outputDirectory}/" + BinaryCatalogReader.DEFAULT_CATALOG_FILE,
+            property = "compiledCatalogFile")
+    private File compiledCatalogFile;
+
+    public void execute() throws MojoExecutionException {
+        CatalogReader catalogReader = createCatalogReader();
+        if (catalogReader == null) {
+            return;
+        }
+        CatalogData catalogData = catalogReader.read();
+        if (catalogData == null) {
+            throw new MojoExecutionException("No catalog data was read");
+        }
+        try {
+            BinaryCatalogReader.write(catalogData, compiledCatalogFile);
+        } catch (Exception ex) {
+            throw new MojoExecutionException("Error compiling catalog to " + compiledCatalogFile, ex);
+        }
+        getLog().info("Compiled catalog to " + compiledCatalogFile);
+    }
+}
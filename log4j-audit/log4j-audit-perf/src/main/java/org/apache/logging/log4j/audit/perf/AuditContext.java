@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.perf;
+
+import org.apache.logging.log4j.ThreadContext;
+
+/**
+ * Populates the ThreadContext with the RequestContext values required by the catalog.
+ */
+final class AuditContext {
+
+    private AuditContext() {}
+
+    static void populate() {
+        ThreadContext.put(RequestContext.ACCOUNT_NUMBER, "12345");
+        ThreadContext.put(RequestContext.USER_ID, "JohnDoe");
+        ThreadContext.put(RequestContext.LOGIN_ID, "TestUser");
+        ThreadContext.put(RequestContext.IP_ADDRESS, "10.1.2.3");
+        ThreadContext.put(RequestContext.HOST_NAME, "localhost");
+    }
+}
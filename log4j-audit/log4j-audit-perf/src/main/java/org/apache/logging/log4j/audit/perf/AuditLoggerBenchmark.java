@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.perf;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.AuditLogger;
+import org.apache.logging.log4j.audit.catalog.CatalogManagerImpl;
+import org.apache.logging.log4j.catalog.api.dao.ClassPathCatalogReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures logging events by name through an AuditLogger that validates them against the catalog.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditLoggerBenchmark {
+
+    @Param({"false", "true"})
+    private boolean reuseMessages;
+
+    private AuditLogger auditLogger;
+
+    private Map<String, String> transfer;
+
+    private Map<String, String> billPay;
+
+    @Setup
+    public void setUp() throws IOException {
+        auditLogger = new AuditLogger();
+        auditLogger.setCatalogManager(new CatalogManagerImpl(new ClassPathCatalogReader()));
+        auditLogger.setReuseMessages(reuseMessages);
+        AuditContext.populate();
+        transfer = new HashMap<>();
+        transfer.put("toAccount", "123456");
+        transfer.put("fromAccount", "654321");
+        transfer.put("amount", "125.50");
+        billPay = new HashMap<>();
+        billPay.put("fromAccount", "654321");
+        billPay.put("payee", "Electric Company");
+        billPay.put("amount", "98.76");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ThreadContext.clearMap();
+    }
+
+    @Benchmark
+    public void logTransfer() {
+        auditLogger.logEvent("transfer", transfer);
+    }
+
+    @Benchmark
+    public void logBillPay() {
+        auditLogger.logEvent("billPay", billPay);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.perf;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
+import org.apache.logging.log4j.catalog.api.ConstraintType;
+import org.apache.logging.log4j.catalog.api.plugins.ConstraintPlugins;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures each of the built-in ConstraintTypes, both when the constraint value is passed on every call and when
+ * it has been compiled in advance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstraintBenchmark {
+
+    private static final String IP_ADDRESS_PATTERN =
+            "^(([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])\\.){3}([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])$";
+
+    @Param({"pattern", "enum", "anyCaseEnum", "maxLength", "minLength", "maxValue", "minValue"})
+    public String constraintType;
+
+    private ConstraintType type;
+
+    private CompiledConstraint compiled;
+
+    private String constraintValue;
+
+    private String value;
+
+    private final StringBuilder errors = new StringBuilder();
+
+    @Setup
+    public void setUp() {
+        type = ConstraintPlugins.getInstance().findByName(constraintType);
+        if (type == null) {
+            throw new IllegalStateException("No ConstraintType named " + constraintType);
+        }
+        switch (constraintType) {
+            case "pattern":
+                constraintValue = IP_ADDRESS_PATTERN;
+                value = "192.168.10.254";
+                break;
+            case "enum":
+                constraintValue = "checking, savings, brokerage, retirement, loan, mortgage";
+                value = "loan";
+                break;
+            case "anyCaseEnum":
+                constraintValue = "Checking, Savings, Brokerage, Retirement, Loan, Mortgage";
+                value = "LOAN";
+                break;
+            case "maxLength":
+                constraintValue = "32";
+                value = "Electric Company";
+                break;
+            case "minLength":
+                constraintValue = "4";
+                value = "Electric Company";
+                break;
+            case "maxValue":
+                constraintValue = "10000";
+                value = "125.50";
+                break;
+            default:
+                constraintValue = "1";
+                value = "125.50";
+                break;
+        }
+        compiled = type.compile(constraintValue);
+    }
+
+    @Benchmark
+    public StringBuilder validate() {
+        errors.setLength(0);
+        type.validate(false, "attribute", value, constraintValue, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public StringBuilder validateCompiled() {
+        errors.setLength(0);
+        compiled.validate(false, "attribute", value, errors);
+        return errors;
+    }
+}
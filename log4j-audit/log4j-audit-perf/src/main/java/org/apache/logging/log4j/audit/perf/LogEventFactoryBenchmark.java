@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.perf;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.LogEventFactory;
+import org.apache.logging.log4j.audit.perf.event.Transfer;
+import org.apache.logging.log4j.audit.perf.generated.Deposit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures logging events through the LogEventFactory. Transfer has no generated implementation so it uses the
+ * Proxy while Deposit uses the DepositImpl generated from the catalog by the audit maven plugin.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogEventFactoryBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("125.50");
+
+    @Param({"false", "true"})
+    private boolean reuseMessages;
+
+    private Map<String, String> properties;
+
+    @Setup
+    public void setUp() {
+        LogEventFactory.setReuseMessages(reuseMessages);
+        AuditContext.populate();
+        properties = new HashMap<>();
+        properties.put("toAccount", "123456");
+        properties.put("fromAccount", "654321");
+        properties.put("amount", "125.50");
+    }
+
+    @TearDown
+    public void tearDown() {
+        LogEventFactory.setReuseMessages(false);
+        ThreadContext.clearMap();
+    }
+
+    @Benchmark
+    public void proxyEvent() {
+        Transfer transfer = LogEventFactory.getEvent(Transfer.class);
+        transfer.setToAccount(123456);
+        transfer.setFromAccount(654321);
+        transfer.setAmount(AMOUNT);
+        transfer.logEvent();
+    }
+
+    @Benchmark
+    public void generatedEvent() {
+        Deposit deposit = LogEventFactory.getEvent(Deposit.class);
+        deposit.setAccount(123456);
+        deposit.setAmount(AMOUNT);
+        deposit.logEvent();
+    }
+
+    @Benchmark
+    public void logEventFromMap() {
+        LogEventFactory.logEvent(Transfer.class, properties);
+    }
+}
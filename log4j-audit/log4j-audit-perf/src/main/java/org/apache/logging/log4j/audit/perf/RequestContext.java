@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.perf;
+
+import java.util.function.Supplier;
+import org.apache.logging.log4j.audit.annotation.Chained;
+import org.apache.logging.log4j.audit.annotation.ClientServer;
+import org.apache.logging.log4j.audit.annotation.HeaderPrefix;
+import org.apache.logging.log4j.audit.annotation.Local;
+
+/**
+ * The RequestContext keys used by the benchmarks.
+ */
+@HeaderPrefix("mycorp-context-")
+public final class RequestContext {
+    @ClientServer
+    public static final String REQUEST_ID = "requestId";
+
+    @ClientServer
+    public static final String SESSION_ID = "sessionId";
+
+    @ClientServer
+    public static final String ACCOUNT_NUMBER = "accountNumber";
+
+    @ClientServer
+    public static final String IP_ADDRESS = "ipAddress";
+
+    @ClientServer
+    public static final String USER_ID = "userId";
+
+    @ClientServer
+    public static final String LOGIN_ID = "loginId";
+
+    @Local
+    public static final String CALLING_HOST = "callingHost";
+
+    public static final String HOST_NAME = "hostName";
+
+    @Chained(fieldName = HOST_NAME, chainedFieldName = CALLING_HOST)
+    public static final Supplier<String> LOCAL_HOST_SUPPLIER = () -> "localhost";
+
+    private RequestContext() {}
+}
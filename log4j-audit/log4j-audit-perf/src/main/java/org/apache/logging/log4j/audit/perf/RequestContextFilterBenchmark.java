@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.perf;
+
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.rest.RequestContextFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Measures mapping the RequestContext headers of a request into the ThreadContext.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestContextFilterBenchmark {
+
+    private RequestContextFilter filter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private FilterChain chain;
+
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        filter = new RequestContextFilter(RequestContext.class);
+        filter.init(null);
+        request = new MockHttpServletRequest("POST", "/transfer");
+        request.addHeader("mycorp-context-requestId", "c4a1b1c2-7c1e-11e9-8f9e-2a86e4085a59");
+        request.addHeader("mycorp-context-sessionId", "f0c6d3e2-7c1e-11e9-8f9e-2a86e4085a59");
+        request.addHeader("mycorp-context-accountNumber", "12345");
+        request.addHeader("mycorp-context-ipAddress", "10.1.2.3");
+        request.addHeader("mycorp-context-userId", "JohnDoe");
+        request.addHeader("mycorp-context-loginId", "TestUser");
+        request.addHeader("mycorp-context-hostName", "client.example.com");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("Content-Type", "application/json");
+        request.addHeader("User-Agent", "Benchmark");
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> this.blackhole.consume(ThreadContext.getContext());
+    }
+
+    @Benchmark
+    public void doFilter() {
+        filter.doFilter(request, response, chain);
+    }
+}
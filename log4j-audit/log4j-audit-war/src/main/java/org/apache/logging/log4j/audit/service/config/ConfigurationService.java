@@ -16,6 +16,7 @@
  */
 package org.apache.logging.log4j.audit.service.config;
 
+import org.apache.logging.log4j.audit.BackpressurePolicy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -27,7 +28,49 @@ public class ConfigurationService {
     @Value("${auditServiceAuthToken:LabAuditService}")
     private String auditServiceAuthToken;
 
+    @Value("${auditBatchThreads:0}")
+    private int auditBatchThreads;
+
+    @Value("${auditBatchQueueSize:10000}")
+    private int auditBatchQueueSize;
+
+    @Value("${auditBatchWindow:256}")
+    private int auditBatchWindow;
+
+    @Value("${auditAsyncBufferSize:0}")
+    private int auditAsyncBufferSize;
+
+    @Value("${auditAsyncPolicy:BLOCK}")
+    private BackpressurePolicy auditAsyncPolicy;
+
+    @Value("${auditMetricsEnabled:false}")
+    private boolean auditMetricsEnabled;
+
     public String getAuditServiceAuthToken() {
         return auditServiceAuthToken;
     }
+
+    public int getAuditBatchThreads() {
+        return auditBatchThreads;
+    }
+
+    public int getAuditBatchQueueSize() {
+        return auditBatchQueueSize;
+    }
+
+    public int getAuditBatchWindow() {
+        return auditBatchWindow;
+    }
+
+    public int getAuditAsyncBufferSize() {
+        return auditAsyncBufferSize;
+    }
+
+    public BackpressurePolicy getAuditAsyncPolicy() {
+        return auditAsyncPolicy;
+    }
+
+    public boolean isAuditMetricsEnabled() {
+        return auditMetricsEnabled;
+    }
 }
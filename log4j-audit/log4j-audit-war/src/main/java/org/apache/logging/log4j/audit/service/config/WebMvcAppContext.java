@@ -24,8 +24,13 @@ import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.audit.AuditLogger;
+import org.apache.logging.log4j.audit.metrics.AuditMetrics;
+import org.apache.logging.log4j.audit.metrics.AuditMetricsRegistry;
+import org.apache.logging.log4j.audit.metrics.NoopAuditMetrics;
+import org.apache.logging.log4j.audit.metrics.SimpleAuditMetrics;
 import org.apache.logging.log4j.audit.service.catalog.AuditCatalogManager;
 import org.apache.logging.log4j.audit.service.catalog.AuditManager;
+import org.apache.logging.log4j.audit.service.dispatch.AuditEventDispatcher;
 import org.apache.logging.log4j.audit.service.security.LocalAuthorizationInterceptor;
 import org.apache.logging.log4j.audit.util.JsonObjectMapperFactory;
 import org.apache.logging.log4j.catalog.api.CatalogReader;
@@ -38,6 +43,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -56,7 +62,7 @@ import org.springframework.web.servlet.view.JstlView;
 @EnableWebMvc
 @EnableScheduling
 @ComponentScan(basePackages = {"org.apache.logging.log4j.catalog.jpa", "org.apache.logging.log4j.audit.service"})
-@PropertySource(value = " classpath:catalog-${env:}config.properties", ignoreResourceNotFound = true)
+@PropertySource(value = "classpath:catalog-${env:}config.properties", ignoreResourceNotFound = true)
 public class WebMvcAppContext extends WebMvcConfigurerAdapter {
 
     private static final Logger LOGGER = LogManager.getLogger(WebMvcAppContext.class);
@@ -91,6 +97,15 @@ public class WebMvcAppContext extends WebMvcConfigurerAdapter {
                 .excludePathPatterns("/webjars/**");
     }
 
+    /**
+     * Resolves the placeholders in the @Value fields of ConfigurationService. It must be static because
+     * ConfigurationService is created along with this class, before the context's default resolver is available.
+     */
+    @Bean
+    public static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+        return new PropertySourcesPlaceholderConfigurer();
+    }
+
     @Bean
     public DefaultAdvisorAutoProxyCreator defaultAdvisorAutoProxyCreator() {
         DefaultAdvisorAutoProxyCreator proxyCreator = new DefaultAdvisorAutoProxyCreator();
@@ -155,9 +170,31 @@ public class WebMvcAppContext extends WebMvcConfigurerAdapter {
     }
 
     @Bean
+    public AuditMetrics auditMetrics() {
+        AuditMetrics metrics =
+                configurationService.isAuditMetricsEnabled() ? new SimpleAuditMetrics() : NoopAuditMetrics.INSTANCE;
+        AuditMetricsRegistry.setMetrics(metrics);
+        return metrics;
+    }
+
+    @Bean(destroyMethod = "shutdown")
     AuditLogger auditLogger() {
+        auditMetrics();
         AuditLogger auditLogger = new AuditLogger();
         auditLogger.setCatalogManager(auditManager());
+        int bufferSize = configurationService.getAuditAsyncBufferSize();
+        if (bufferSize > 0) {
+            auditLogger.enableAsync(bufferSize, configurationService.getAuditAsyncPolicy());
+        }
         return auditLogger;
     }
+
+    @Bean(destroyMethod = "shutdown")
+    public AuditEventDispatcher auditEventDispatcher() {
+        return new AuditEventDispatcher(
+                auditLogger(),
+                configurationService.getAuditBatchThreads(),
+                configurationService.getAuditBatchQueueSize(),
+                configurationService.getAuditBatchWindow());
+    }
 }
@@ -16,16 +16,29 @@
  */
 package org.apache.logging.log4j.audit.service.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.audit.AuditLogger;
 import org.apache.logging.log4j.audit.dto.AuditDto;
+import org.apache.logging.log4j.audit.dto.AuditResultDto;
+import org.apache.logging.log4j.audit.metrics.AuditMetrics;
+import org.apache.logging.log4j.audit.metrics.AuditMetricsSnapshot;
+import org.apache.logging.log4j.audit.service.dispatch.AuditEventDispatcher;
+import org.apache.logging.log4j.audit.service.dispatch.AuditEventReader;
 import org.apache.logging.log4j.catalog.api.Versions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -34,9 +47,20 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class AuditController {
 
+    public static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private AuditLogger auditLogger;
 
+    @Autowired
+    private AuditEventDispatcher auditEventDispatcher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditMetrics auditMetrics;
+
     @ApiImplicitParams({@ApiImplicitParam(dataType = "String", name = "Authorization", paramType = "header")})
     @ApiOperation(
             value = "Generate an Audit event",
@@ -57,4 +81,73 @@ public class AuditController {
             ThreadContext.clearMap();
         }
     }
+
+    @ApiImplicitParams({@ApiImplicitParam(dataType = "String", name = "Authorization", paramType = "header")})
+    @ApiOperation(
+            value = "Generate a batch of Audit events",
+            notes = "Accepts a JSON array of events, validates and logs the events in parallel as they are read "
+                    + "and returns a JSON array containing the result for each event",
+            tags = {"Audit"})
+    @PostMapping(value = "/event/logBatch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = Versions.V1_0)
+    public void logEvents(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(Versions.V1_0);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            ObjectWriter writer = objectMapper.writerFor(AuditResultDto.class);
+            generator.writeStartArray();
+            dispatch(body, result -> writer.writeValue(generator, result));
+            generator.writeEndArray();
+        }
+    }
+
+    @ApiImplicitParams({@ApiImplicitParam(dataType = "String", name = "Authorization", paramType = "header")})
+    @ApiOperation(
+            value = "Generate a stream of Audit events",
+            notes = "Accepts one event per line, validates and logs the events in parallel as they are read and "
+                    + "returns the result for each event, one per line",
+            tags = {"Audit"})
+    @PostMapping(value = "/event/logBatch", consumes = NDJSON, produces = NDJSON)
+    public void logEventStream(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            ObjectWriter writer = objectMapper.writerFor(AuditResultDto.class);
+            dispatch(body, result -> {
+                writer.writeValue(generator, result);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    @ApiImplicitParams({@ApiImplicitParam(dataType = "String", name = "Authorization", paramType = "header")})
+    @ApiOperation(
+            value = "Return the Audit metrics",
+            notes = "Returns the number of events logged, failing validation and passed to an exception handler "
+                    + "along with the validation and logging latencies, in nanoseconds, for each event name",
+            tags = {"Audit"})
+    @GetMapping(value = "/event/metrics", produces = Versions.V1_0)
+    public AuditMetricsSnapshot getMetrics() {
+        return auditMetrics.snapshot();
+    }
+
+    private void dispatch(InputStream body, ResultWriter resultWriter) throws IOException {
+        IOException[] writeError = new IOException[1];
+        try (AuditEventReader reader = new AuditEventReader(objectMapper, body)) {
+            auditEventDispatcher.dispatch(reader, result -> {
+                if (writeError[0] == null) {
+                    try {
+                        resultWriter.write(result);
+                    } catch (IOException ex) {
+                        writeError[0] = ex;
+                    }
+                }
+            });
+        }
+        if (writeError[0] != null) {
+            throw writeError[0];
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultWriter {
+        void write(AuditResultDto result) throws IOException;
+    }
 }
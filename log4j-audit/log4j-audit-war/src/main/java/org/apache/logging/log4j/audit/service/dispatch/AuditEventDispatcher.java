@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.service.dispatch;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.audit.AuditLogger;
+import org.apache.logging.log4j.audit.dto.AuditDto;
+import org.apache.logging.log4j.audit.dto.AuditResultDto;
+import org.apache.logging.log4j.audit.dto.AuditResultDto.Status;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+
+/**
+ * Validates and logs batches of Audit Events using a fixed pool of threads fed by a bounded queue. Each request
+ * may only have a limited number of events in progress, so events are read from the request only as quickly as
+ * they can be logged.
+ */
+public class AuditEventDispatcher {
+
+    private static final Logger LOGGER = LogManager.getLogger(AuditEventDispatcher.class);
+
+    private final AuditLogger auditLogger;
+
+    private final ThreadPoolExecutor executor;
+
+    private final int window;
+
+    public AuditEventDispatcher(AuditLogger auditLogger, int threads, int queueSize, int window) {
+        this.auditLogger = auditLogger;
+        this.window = window > 0 ? window : 1;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                Log4jThreadFactory.createDaemonThreadFactory("AuditEventDispatcher"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Validates and logs the events in parallel as they are read. At most the configured number of events are
+     * in progress at once, so reading from the source slows down when the workers fall behind. If the thread
+     * pool is saturated by other requests and none of this request's events are in progress the event is rejected.
+     * @param source The events to log.
+     * @param results Receives the result of each event, in the order the events were read.
+     */
+    public void dispatch(AuditEventSource source, Consumer<AuditResultDto> results) {
+        Deque<PendingEvent> pending = new ArrayDeque<>();
+        int index = 0;
+        try {
+            AuditDto event;
+            while ((event = source.next()) != null) {
+                if (pending.size() >= window) {
+                    results.accept(pending.removeFirst().await());
+                }
+                PendingEvent pendingEvent = submit(index, event);
+                while (pendingEvent == null && !pending.isEmpty()) {
+                    results.accept(pending.removeFirst().await());
+                    pendingEvent = submit(index, event);
+                }
+                if (pendingEvent == null) {
+                    pendingEvent = new PendingEvent(
+                            index,
+                            event.getEventName(),
+                            CompletableFuture.completedFuture(new AuditResultDto(
+                                    index, event.getEventName(), Status.REJECTED, "The audit event queue is full")));
+                }
+                pending.addLast(pendingEvent);
+                ++index;
+            }
+        } catch (IOException ex) {
+            pending.addLast(new PendingEvent(
+                    index,
+                    null,
+                    CompletableFuture.completedFuture(new AuditResultDto(
+                            index, null, Status.FAILED, "Unable to parse event: " + ex.getMessage()))));
+        }
+        while (!pending.isEmpty()) {
+            results.accept(pending.removeFirst().await());
+        }
+    }
+
+    /**
+     * Validates and logs a single event on the current thread.
+     * @param index The position of the event in its batch.
+     * @param event The event.
+     * @return The result.
+     */
+    public AuditResultDto logEvent(int index, AuditDto event) {
+        if (event == null) {
+            return new AuditResultDto(index, null, Status.FAILED, "No event was provided");
+        }
+        try {
+            Map<String, String> requestContextMap = event.getRequestContextMap();
+            if (requestContextMap != null) {
+                for (Map.Entry<String, String> entry : requestContextMap.entrySet()) {
+                    ThreadContext.put(entry.getKey(), entry.getValue());
+                }
+            }
+            auditLogger.logEvent(event.getEventName(), event.getCatalogId(), event.getProperties());
+            return new AuditResultDto(index, event.getEventName(), Status.LOGGED, null);
+        } catch (Exception ex) {
+            LOGGER.debug("Unable to log event {}: {}", event.getEventName(), ex.getMessage());
+            return new AuditResultDto(index, event.getEventName(), Status.FAILED, ex.getMessage());
+        } finally {
+            ThreadContext.clearMap();
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private PendingEvent submit(int index, AuditDto event) {
+        try {
+            return new PendingEvent(index, event.getEventName(), executor.submit(() -> logEvent(index, event)));
+        } catch (RejectedExecutionException ex) {
+            return null;
+        }
+    }
+
+    private static final class PendingEvent {
+        private final int index;
+        private final String eventName;
+        private final Future<AuditResultDto> future;
+
+        private PendingEvent(int index, String eventName, Future<AuditResultDto> future) {
+            this.index = index;
+            this.eventName = eventName;
+            this.future = future;
+        }
+
+        private AuditResultDto await() {
+            try {
+                return future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return new AuditResultDto(index, eventName, Status.FAILED, "Interrupted");
+            } catch (ExecutionException ex) {
+                return new AuditResultDto(index, eventName, Status.FAILED, String.valueOf(ex.getCause()));
+            }
+        }
+    }
+}
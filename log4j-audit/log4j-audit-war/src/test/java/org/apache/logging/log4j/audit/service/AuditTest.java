@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.audit.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.audit.dto.AuditDto;
+import org.apache.logging.log4j.audit.dto.AuditResultDto;
+import org.apache.logging.log4j.audit.dto.AuditResultDto.Status;
+import org.apache.logging.log4j.audit.service.config.WebMvcAppContext;
+import org.apache.logging.log4j.audit.service.controller.AuditController;
+import org.apache.logging.log4j.catalog.api.Versions;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.AnnotationConfigWebContextLoader;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(
+        classes = {WebMvcAppContext.class},
+        loader = AnnotationConfigWebContextLoader.class)
+@WebAppConfiguration
+public class AuditTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final CollectionType resultType =
+            TypeFactory.defaultInstance().constructCollectionType(List.class, AuditResultDto.class);
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @BeforeClass
+    public static void setupClass() {
+        System.setProperty("spring.profiles.active", "eclipseLink");
+    }
+
+    @Before
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(this.wac).build();
+    }
+
+    @Test
+    public void testLogBatch() throws Exception {
+        List<AuditDto> events = new ArrayList<>();
+        events.add(transfer("123", "456", "100"));
+        events.add(transfer("123", null, "100"));
+        events.add(transfer("123", "456", "250"));
+        String result = mockMvc.perform(post("/event/logBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(Versions.V1_0)
+                        .content(objectMapper.writeValueAsString(events)))
+                .andExpect(status().is(HttpStatus.OK.value()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<AuditResultDto> results = objectMapper.readValue(result, resultType);
+        assertEquals("Incorrect number of results", 3, results.size());
+        assertEquals(Status.LOGGED, results.get(0).getStatus());
+        assertEquals(Status.FAILED, results.get(1).getStatus());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(Status.LOGGED, results.get(2).getStatus());
+    }
+
+    @Test
+    public void testLogStream() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        sb.append(objectMapper.writeValueAsString(transfer("123", "456", "100")))
+                .append('\n');
+        sb.append(objectMapper.writeValueAsString(transfer("123", null, "100"))).append('\n');
+        sb.append(objectMapper.writeValueAsString(transfer("123", "456", "250")))
+                .append('\n');
+        sb.append("{ not json\n");
+        String result = mockMvc.perform(post("/event/logBatch")
+                        .contentType(AuditController.NDJSON)
+                        .accept(AuditController.NDJSON)
+                        .content(sb.toString()))
+                .andExpect(status().is(HttpStatus.OK.value()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<AuditResultDto> results = new ArrayList<>();
+        for (String line : result.split("\n")) {
+            results.add(objectMapper.readValue(line, AuditResultDto.class));
+        }
+        assertEquals("Incorrect number of results", 4, results.size());
+        assertEquals(Status.LOGGED, results.get(0).getStatus());
+        assertEquals(Status.FAILED, results.get(1).getStatus());
+        assertEquals(Status.LOGGED, results.get(2).getStatus());
+        assertEquals(Status.FAILED, results.get(3).getStatus());
+        assertEquals(3, results.get(3).getIndex());
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        JsonNode before = getMetrics().path("events").path("transfer");
+        List<AuditDto> events = new ArrayList<>();
+        events.add(transfer("123", "456", "100"));
+        events.add(transfer("123", null, "100"));
+        mockMvc.perform(post("/event/logBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(Versions.V1_0)
+                        .content(objectMapper.writeValueAsString(events)))
+                .andExpect(status().is(HttpStatus.OK.value()));
+        JsonNode after = getMetrics().path("events").path("transfer");
+        assertEquals(1, after.path("logged").asLong() - before.path("logged").asLong());
+        assertEquals(
+                1,
+                after.path("validationFailed").asLong()
+                        - before.path("validationFailed").asLong());
+        assertEquals(
+                2,
+                after.path("validate").path("count").asLong()
+                        - before.path("validate").path("count").asLong());
+    }
+
+    private JsonNode getMetrics() throws Exception {
+        String result = mockMvc.perform(get("/event/metrics").accept(Versions.V1_0))
+                .andExpect(status().is(HttpStatus.OK.value()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(result);
+    }
+
+    private static AuditDto transfer(String fromAccount, String toAccount, String amount) {
+        Map<String, String> requestContext = new HashMap<>();
+        requestContext.put("accountNumber", "12345");
+        requestContext.put("userId", "JohnDoe");
+        requestContext.put("loginId", "TestUser");
+        Map<String, String> properties = new HashMap<>();
+        properties.put("fromAccount", fromAccount);
+        if (toAccount != null) {
+            properties.put("toAccount", toAccount);
+        }
+        properties.put("amount", amount);
+        AuditDto dto = new AuditDto();
+        dto.setEventName("transfer");
+        dto.setRequestContextMap(requestContext);
+        dto.setProperties(properties);
+        return dto;
+    }
+}
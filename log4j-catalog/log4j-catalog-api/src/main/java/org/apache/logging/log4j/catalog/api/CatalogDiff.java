@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.catalog.api;
+
+import static org.apache.logging.log4j.catalog.api.constant.Constants.DEFAULT_CATALOG;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.apache.logging.log4j.catalog.api.util.CatalogObjectMappers;
+
+/**
+ * The Events and Attributes that differ between two versions of a catalog. Events and Attributes are identified
+ * by their catalog id and name. They are compared by content, ignoring the order of the elements in lists and
+ * sets, so reloading an unchanged catalog produces an empty diff.
+ */
+public final class CatalogDiff {
+
+    private static final ObjectMapper MAPPER = CatalogObjectMappers.getMapper();
+
+    private final List<Event> changedEvents;
+
+    private final List<Event> removedEvents;
+
+    private final List<Attribute> changedAttributes;
+
+    private final List<Attribute> removedAttributes;
+
+    private CatalogDiff(
+            List<Event> changedEvents,
+            List<Event> removedEvents,
+            List<Attribute> changedAttributes,
+            List<Attribute> removedAttributes) {
+        this.changedEvents = Collections.unmodifiableList(changedEvents);
+        this.removedEvents = Collections.unmodifiableList(removedEvents);
+        this.changedAttributes = Collections.unmodifiableList(changedAttributes);
+        this.removedAttributes = Collections.unmodifiableList(removedAttributes);
+    }
+
+    /**
+     * Compares two versions of a catalog.
+     * @param previous The previous version of the catalog.
+     * @param current The current version of the catalog.
+     * @return The CatalogDiff.
+     */
+    public static CatalogDiff compute(CatalogData previous, CatalogData current) {
+        List<Event> changedEvents = new ArrayList<>();
+        List<Event> removedEvents = new ArrayList<>();
+        compare(
+                previous.getEvents(),
+                current.getEvents(),
+                e -> key(e.getCatalogId(), e.getName()),
+                changedEvents,
+                removedEvents);
+        List<Attribute> changedAttributes = new ArrayList<>();
+        List<Attribute> removedAttributes = new ArrayList<>();
+        compare(
+                previous.getAttributes(),
+                current.getAttributes(),
+                a -> key(a.getCatalogId(), a.getName()),
+                changedAttributes,
+                removedAttributes);
+        return new CatalogDiff(changedEvents, removedEvents, changedAttributes, removedAttributes);
+    }
+
+    /**
+     * Returns the Events that were added or modified.
+     * @return The new versions of the Events.
+     */
+    public List<Event> getChangedEvents() {
+        return changedEvents;
+    }
+
+    /**
+     * Returns the Events that are no longer in the catalog.
+     * @return The previous versions of the Events.
+     */
+    public List<Event> getRemovedEvents() {
+        return removedEvents;
+    }
+
+    /**
+     * Returns the Attributes that were added or modified.
+     * @return The new versions of the Attributes.
+     */
+    public List<Attribute> getChangedAttributes() {
+        return changedAttributes;
+    }
+
+    /**
+     * Returns the Attributes that are no longer in the catalog.
+     * @return The previous versions of the Attributes.
+     */
+    public List<Attribute> getRemovedAttributes() {
+        return removedAttributes;
+    }
+
+    public boolean isEmpty() {
+        return changedEvents.isEmpty()
+                && removedEvents.isEmpty()
+                && changedAttributes.isEmpty()
+                && removedAttributes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogDiff{changedEvents=" + changedEvents.size() + ", removedEvents=" + removedEvents.size()
+                + ", changedAttributes=" + changedAttributes.size() + ", removedAttributes="
+                + removedAttributes.size() + "}";
+    }
+
+    private static <T> void compare(
+            List<T> previous, List<T> current, Function<T, String> key, List<T> changed, List<T> removed) {
+        Map<String, T> previousMap = new HashMap<>();
+        if (previous != null) {
+            for (T item : previous) {
+                previousMap.put(key.apply(item), item);
+            }
+        }
+        if (current != null) {
+            for (T item : current) {
+                T old = previousMap.remove(key.apply(item));
+                if (old == null || !canonical(old).equals(canonical(item))) {
+                    changed.add(item);
+                }
+            }
+        }
+        removed.addAll(previousMap.values());
+    }
+
+    private static String key(String catalogId, String name) {
+        return (catalogId == null || catalogId.isEmpty() ? DEFAULT_CATALOG : catalogId) + "/" + name;
+    }
+
+    private static String canonical(Object item) {
+        return canonical((JsonNode) MAPPER.valueToTree(item));
+    }
+
+    /*
+     * Sets are serialized in iteration order, which is not stable for elements that do not implement hashCode,
+     * so arrays are compared without regard to order.
+     */
+    private static String canonical(JsonNode node) {
+        if (node.isArray()) {
+            List<String> elements = new ArrayList<>(node.size());
+            for (JsonNode element : node) {
+                elements.add(canonical(element));
+            }
+            Collections.sort(elements);
+            return elements.toString();
+        }
+        if (node.isObject()) {
+            Map<String, String> fields = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> iter = node.fields();
+            while (iter.hasNext()) {
+                Map.Entry<String, JsonNode> field = iter.next();
+                fields.put(field.getKey(), canonical(field.getValue()));
+            }
+            return fields.toString();
+        }
+        return node.toString();
+    }
+}
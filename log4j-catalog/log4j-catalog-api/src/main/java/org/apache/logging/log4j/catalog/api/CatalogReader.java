@@ -25,8 +25,9 @@ import java.util.Map;
 public interface CatalogReader {
 
     /**
-     * Returns the Catalog object.
-     * @return the Catalog.
+     * Returns the Catalog object. Readers that have already parsed the catalog return the parsed data so callers
+     * do not need to parse the text returned by {@link #readCatalog()} again. Callers must not modify it.
+     * @return the Catalog, or null if the reader only provides the catalog as text.
      */
     CatalogData read();
 
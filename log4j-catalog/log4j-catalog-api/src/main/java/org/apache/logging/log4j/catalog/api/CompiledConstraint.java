@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.catalog.api;
+
+/**
+ * A constraint whose constraint value has already been parsed by its ConstraintType, so it can be evaluated
+ * repeatedly without parsing the constraint value again.
+ */
+@FunctionalInterface
+public interface CompiledConstraint {
+
+    /**
+     * Validates a value.
+     * @param isRequestContext true if the value came from the ThreadContext.
+     * @param name The attribute name.
+     * @param value The value to validate.
+     * @param error The StringBuilder to append any errors to.
+     */
+    void validate(boolean isRequestContext, String name, String value, StringBuilder error);
+}
@@ -43,4 +43,15 @@ public interface ConstraintType {
     }
 
     void validate(boolean isRequestContext, String name, String value, String constraintValue, StringBuilder error);
+
+    /**
+     * Parses the constraint value into a form that can be used to validate many values. ConstraintTypes whose
+     * constraint value is expensive to parse, such as a regular expression, should override this method.
+     * @param constraintValue The constraint value.
+     * @return The CompiledConstraint.
+     */
+    default CompiledConstraint compile(String constraintValue) {
+        return (isRequestContext, name, value, error) ->
+                validate(isRequestContext, name, value, constraintValue, error);
+    }
 }
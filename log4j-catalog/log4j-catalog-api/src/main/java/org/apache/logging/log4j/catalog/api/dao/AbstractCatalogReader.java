@@ -25,52 +25,58 @@ import org.apache.logging.log4j.catalog.api.Category;
 import org.apache.logging.log4j.catalog.api.Event;
 import org.apache.logging.log4j.catalog.api.Product;
 
+/**
+ * Base class for CatalogReaders. Lookups by name are served from indexes that are built when the catalog data is
+ * first used and rebuilt whenever a different CatalogData instance is installed, so readers that replace
+ * {@link #catalogData} never see indexes from the previous catalog.
+ */
 public abstract class AbstractCatalogReader implements CatalogReader {
-    protected CatalogData catalogData = null;
+    protected volatile CatalogData catalogData = null;
 
     protected final Map<String, Attribute> attributes = new HashMap<>();
 
+    private volatile CatalogIndex index = CatalogIndex.EMPTY;
+
     @Override
     public Map<String, Attribute> getAttributes() {
-        return attributes;
+        return attributes.isEmpty() ? getIndex().getAttributes().asMap() : attributes;
     }
 
     @Override
     public Attribute getAttribute(String name) {
-        return attributes.get(name);
+        Attribute attribute = attributes.get(name);
+        return attribute != null ? attribute : getIndex().getAttributes().get(name);
+    }
+
+    public Attribute getAttribute(String name, String catalogId) {
+        return getIndex().getAttributes().get(name, catalogId);
     }
 
     @Override
     public Category getCategory(String name) {
-        if (catalogData.getCategories() != null) {
-            return catalogData.getCategories().stream()
-                    .filter(c -> c.getName().equals(name))
-                    .findFirst()
-                    .orElse(null);
-        }
-        return null;
+        return getIndex().getCategories().get(name);
+    }
+
+    public Category getCategory(String name, String catalogId) {
+        return getIndex().getCategories().get(name, catalogId);
     }
 
     @Override
     public Event getEvent(String name) {
-        if (catalogData.getEvents() != null) {
-            return catalogData.getEvents().stream()
-                    .filter(e -> e.getName().equals(name))
-                    .findFirst()
-                    .orElse(null);
-        }
-        return null;
+        return getIndex().getEvents().get(name);
+    }
+
+    public Event getEvent(String name, String catalogId) {
+        return getIndex().getEvents().get(name, catalogId);
     }
 
     @Override
     public Product getProduct(String name) {
-        if (catalogData.getProducts() != null) {
-            return catalogData.getProducts().stream()
-                    .filter(p -> p.getName().equals(name))
-                    .findFirst()
-                    .orElse(null);
-        }
-        return null;
+        return getIndex().getProducts().get(name);
+    }
+
+    public Product getProduct(String name, String catalogId) {
+        return getIndex().getProducts().get(name, catalogId);
     }
 
     public String readCatalog() {
@@ -81,4 +87,32 @@ public abstract class AbstractCatalogReader implements CatalogReader {
     public CatalogData read() {
         return catalogData;
     }
+
+    /**
+     * Installs new catalog data and the indexes over it.
+     * @param data The catalog data.
+     */
+    protected void setCatalogData(CatalogData data) {
+        CatalogIndex newIndex = new CatalogIndex(data);
+        catalogData = data;
+        index = newIndex;
+    }
+
+    /**
+     * Returns the catalog data the lookups are performed against.
+     * @return The catalog data.
+     */
+    protected CatalogData getCatalogData() {
+        return catalogData;
+    }
+
+    private CatalogIndex getIndex() {
+        CatalogData data = getCatalogData();
+        CatalogIndex current = index;
+        if (!current.isFor(data)) {
+            current = new CatalogIndex(data);
+            index = current;
+        }
+        return current;
+    }
 }
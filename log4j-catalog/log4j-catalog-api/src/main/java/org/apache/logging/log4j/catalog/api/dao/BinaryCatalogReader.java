@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.catalog.api.dao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.catalog.api.CatalogData;
+import org.apache.logging.log4j.catalog.api.exception.CatalogReadException;
+import org.apache.logging.log4j.catalog.api.util.CatalogObjectMappers;
+import org.apache.logging.log4j.util.LoaderUtil;
+
+/**
+ * Reads a catalog that was compiled into the binary Smile format by the log4j-audit-maven-plugin
+ * {@code compile-catalog} goal. A catalog on the file system is memory mapped and a catalog on the class path is
+ * read in a single pass. In either case the catalog is only decoded when it is first used, and it is decoded
+ * directly into the catalog objects without building an intermediate JSON String.
+ *
+ * Requires com.fasterxml.jackson.dataformat:jackson-dataformat-smile.
+ */
+public class BinaryCatalogReader extends AbstractCatalogReader {
+
+    private static final Logger LOGGER = LogManager.getLogger(BinaryCatalogReader.class);
+    private static final String BASEDIR = "baseDir";
+
+    private static final String CATALOG_ATTRIBUTE_NAME = "catalogFile";
+    public static final String DEFAULT_CATALOG_FILE = "catalog.smile";
+
+    private static final ObjectMapper SMILE_MAPPER =
+            CatalogObjectMappers.configure(new ObjectMapper(new SmileFactory()));
+
+    private final ByteBuffer buffer;
+    private final LocalDateTime lastUpdated;
+    private volatile String catalog;
+
+    public BinaryCatalogReader(Map<String, String> attributes) throws IOException {
+        String catalogFile = attributes != null
+                ? attributes.getOrDefault(CATALOG_ATTRIBUTE_NAME, DEFAULT_CATALOG_FILE)
+                : DEFAULT_CATALOG_FILE;
+        String basePath = attributes != null ? attributes.get(BASEDIR) : null;
+        Path path = basePath != null ? Paths.get(basePath, catalogFile) : Paths.get(catalogFile);
+        if (Files.isRegularFile(path)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            lastUpdated =
+                    LocalDateTime.ofInstant(Files.getLastModifiedTime(path).toInstant(), ZoneId.systemDefault());
+        } else {
+            Collection<URL> catalogs = LoaderUtil.findResources(catalogFile);
+            if (catalogs.isEmpty()) {
+                LOGGER.error("No catalog named {} could be found", catalogFile);
+                throw new FileNotFoundException("No catalog named " + catalogFile + " could be found");
+            }
+            URL catalogURL = catalogs.iterator().next();
+            if (catalogs.size() > 1) {
+                LOGGER.warn("Multiple catalogs named {} were found. Using {}", catalogFile, catalogURL.toString());
+            }
+            buffer = ByteBuffer.wrap(readResource(catalogURL));
+            LocalDateTime localDateTime = null;
+            try {
+                localDateTime = LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(catalogURL.openConnection().getLastModified()), ZoneId.systemDefault());
+            } catch (IOException ioe) {
+                LOGGER.warn("Unable to open connection to {}", catalogURL.toString());
+            }
+            lastUpdated = localDateTime;
+        }
+    }
+
+    public BinaryCatalogReader() throws IOException {
+        this(null);
+    }
+
+    /**
+     * Writes the catalog in the binary format read by this class.
+     * @param catalogData The catalog.
+     * @param file The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(CatalogData catalogData, File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory " + parent.getAbsolutePath());
+        }
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            SMILE_MAPPER.writeValue(os, catalogData);
+        }
+    }
+
+    @Override
+    public CatalogData read() {
+        return getCatalogData();
+    }
+
+    @Override
+    protected CatalogData getCatalogData() {
+        CatalogData data = catalogData;
+        if (data == null) {
+            synchronized (this) {
+                data = catalogData;
+                if (data == null) {
+                    try {
+                        data = SMILE_MAPPER.readValue(
+                                new ByteBufferBackedInputStream(buffer.duplicate()), CatalogData.class);
+                    } catch (IOException ex) {
+                        throw new CatalogReadException("Unable to decode the catalog", ex);
+                    }
+                    setCatalogData(data);
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Returns the catalog as JSON. The JSON is only created when this method is first called.
+     */
+    @Override
+    public String readCatalog() {
+        String json = catalog;
+        if (json == null) {
+            try {
+                json = CatalogObjectMappers.catalogWriter().writeValueAsString(getCatalogData());
+            } catch (IOException ex) {
+                throw new CatalogReadException("Unable to convert the catalog to JSON", ex);
+            }
+            catalog = json;
+        }
+        return json;
+    }
+
+    @Override
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    private static byte[] readResource(URL catalogUrl) throws IOException {
+        try (InputStream is = catalogUrl.openStream()) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(is.available(), 8192));
+            byte[] bytes = new byte[8192];
+            int length;
+            while ((length = is.read(bytes)) != -1) {
+                baos.write(bytes, 0, length);
+            }
+            return baos.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.catalog.api.dao;
+
+import static org.apache.logging.log4j.catalog.api.constant.Constants.DEFAULT_CATALOG;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.logging.log4j.catalog.api.Attribute;
+import org.apache.logging.log4j.catalog.api.CatalogData;
+import org.apache.logging.log4j.catalog.api.Category;
+import org.apache.logging.log4j.catalog.api.Event;
+import org.apache.logging.log4j.catalog.api.Product;
+
+/**
+ * Immutable name indexes over one CatalogData instance. When a name is used in more than one catalog the lookup by
+ * name alone returns the first item in the catalog, matching a linear search of the lists.
+ */
+final class CatalogIndex {
+
+    static final CatalogIndex EMPTY = new CatalogIndex(null);
+
+    private final CatalogData data;
+    private final NameIndex<Attribute> attributes;
+    private final NameIndex<Category> categories;
+    private final NameIndex<Event> events;
+    private final NameIndex<Product> products;
+
+    CatalogIndex(CatalogData data) {
+        this.data = data;
+        this.attributes = new NameIndex<>(
+                data != null ? data.getAttributes() : null, Attribute::getName, Attribute::getCatalogId);
+        this.categories =
+                new NameIndex<>(data != null ? data.getCategories() : null, Category::getName, Category::getCatalogId);
+        this.events = new NameIndex<>(data != null ? data.getEvents() : null, Event::getName, Event::getCatalogId);
+        this.products =
+                new NameIndex<>(data != null ? data.getProducts() : null, Product::getName, Product::getCatalogId);
+    }
+
+    boolean isFor(CatalogData catalogData) {
+        return data == catalogData;
+    }
+
+    NameIndex<Attribute> getAttributes() {
+        return attributes;
+    }
+
+    NameIndex<Category> getCategories() {
+        return categories;
+    }
+
+    NameIndex<Event> getEvents() {
+        return events;
+    }
+
+    NameIndex<Product> getProducts() {
+        return products;
+    }
+
+    static final class NameIndex<T> {
+        private final Map<String, T> byName;
+        private final Map<String, Map<String, T>> byCatalog;
+
+        private NameIndex(List<T> items, Function<T, String> name, Function<T, String> catalogId) {
+            if (items == null || items.isEmpty()) {
+                byName = Collections.emptyMap();
+                byCatalog = Collections.emptyMap();
+                return;
+            }
+            Map<String, T> names = new LinkedHashMap<>(items.size() * 2);
+            Map<String, Map<String, T>> catalogs = new HashMap<>();
+            for (T item : items) {
+                String key = name.apply(item);
+                if (key == null) {
+                    continue;
+                }
+                names.putIfAbsent(key, item);
+                catalogs.computeIfAbsent(normalize(catalogId.apply(item)), k -> new HashMap<>())
+                        .putIfAbsent(key, item);
+            }
+            byName = Collections.unmodifiableMap(names);
+            byCatalog = catalogs;
+        }
+
+        T get(String name) {
+            return name != null ? byName.get(name) : null;
+        }
+
+        T get(String name, String catalogId) {
+            Map<String, T> catalog = byCatalog.get(normalize(catalogId));
+            return catalog != null && name != null ? catalog.get(name) : null;
+        }
+
+        Map<String, T> asMap() {
+            return byName;
+        }
+
+        private static String normalize(String catalogId) {
+            return catalogId == null || catalogId.isEmpty() ? DEFAULT_CATALOG : catalogId;
+        }
+    }
+}
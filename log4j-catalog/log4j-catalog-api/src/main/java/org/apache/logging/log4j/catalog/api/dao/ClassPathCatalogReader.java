@@ -16,9 +16,6 @@
  */
 package org.apache.logging.log4j.catalog.api.dao;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -32,7 +29,7 @@ import java.util.Collection;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.catalog.api.CatalogData;
+import org.apache.logging.log4j.catalog.api.util.CatalogObjectMappers;
 import org.apache.logging.log4j.util.LoaderUtil;
 
 /**
@@ -73,10 +70,7 @@ public class ClassPathCatalogReader extends AbstractCatalogReader {
             LOGGER.warn("Unable to open connection to {}", catalogURL.toString());
         }
         lastUpdated = localDateTime;
-        JsonFactory factory = new JsonFactory();
-        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
-        ObjectMapper objectMapper = new ObjectMapper(factory);
-        catalogData = objectMapper.readValue(catalog, CatalogData.class);
+        setCatalogData(CatalogObjectMappers.catalogReader().readValue(catalog));
     }
 
     private String readCatalog(URL catalogUrl) throws IOException {
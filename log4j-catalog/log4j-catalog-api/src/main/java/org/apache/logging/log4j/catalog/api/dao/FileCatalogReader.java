@@ -16,9 +16,6 @@
  */
 package org.apache.logging.log4j.catalog.api.dao;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -31,6 +28,7 @@ import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.catalog.api.CatalogData;
+import org.apache.logging.log4j.catalog.api.util.CatalogObjectMappers;
 
 /**
  * Reads the catalog from the local file system.
@@ -43,8 +41,9 @@ public class FileCatalogReader extends AbstractCatalogReader {
     private static final String CATALOG_ATTRIBUTE_NAME = "catalogFile";
     private static final String DEFAULT_CATALOG_FILE = "src/main/resources/catalog.json";
 
-    private final String catalog;
-    private LocalDateTime lastUpdated;
+    private final Path path;
+    private volatile String catalog;
+    private volatile LocalDateTime lastUpdated;
 
     public FileCatalogReader(Map<String, String> attributes) throws IOException {
         StringBuilder catalogPath = new StringBuilder();
@@ -71,24 +70,40 @@ public class FileCatalogReader extends AbstractCatalogReader {
             LOGGER.warn("No catalogFile attribute was provided. Using {}", DEFAULT_CATALOG_FILE);
             catalogPath.append(DEFAULT_CATALOG_FILE);
         }
-        Path path = Paths.get(catalogPath.toString());
-        lastUpdated =
-                LocalDateTime.ofInstant(Instant.ofEpochMilli(path.toFile().lastModified()), ZoneId.systemDefault());
-        byte[] encoded = Files.readAllBytes(path);
-        catalog = new String(encoded, StandardCharsets.UTF_8);
-        JsonFactory factory = new JsonFactory();
-        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
-        ObjectMapper objectMapper = new ObjectMapper(factory);
-        catalogData = objectMapper.readValue(catalog, CatalogData.class);
+        path = Paths.get(catalogPath.toString());
+        load();
     }
 
     public FileCatalogReader() throws IOException {
-        byte[] encoded = Files.readAllBytes(Paths.get(DEFAULT_CATALOG_FILE));
-        catalog = new String(encoded, StandardCharsets.UTF_8);
-        JsonFactory factory = new JsonFactory();
-        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
-        ObjectMapper objectMapper = new ObjectMapper(factory);
-        catalogData = objectMapper.readValue(catalog, CatalogData.class);
+        path = Paths.get(DEFAULT_CATALOG_FILE);
+        load();
+    }
+
+    /**
+     * Returns the location of the catalog file.
+     * @return The Path to the catalog.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Reads and parses the catalog file, replacing the current contents of the catalog. If the file cannot be
+     * read or parsed the current contents are retained.
+     * @return The previous CatalogData.
+     * @throws IOException if the catalog cannot be read.
+     */
+    protected CatalogData load() throws IOException {
+        LocalDateTime modified =
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(path.toFile().lastModified()), ZoneId.systemDefault());
+        byte[] encoded = Files.readAllBytes(path);
+        String text = new String(encoded, StandardCharsets.UTF_8);
+        CatalogData data = CatalogObjectMappers.catalogReader().readValue(text);
+        CatalogData previous = catalogData;
+        setCatalogData(data);
+        catalog = text;
+        lastUpdated = modified;
+        return previous;
     }
 
     @Override
@@ -98,6 +113,6 @@ public class FileCatalogReader extends AbstractCatalogReader {
 
     @Override
     public LocalDateTime getLastUpdated() {
-        return null;
+        return lastUpdated;
     }
 }
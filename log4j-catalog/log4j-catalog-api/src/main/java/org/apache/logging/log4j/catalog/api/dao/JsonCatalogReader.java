@@ -16,15 +16,13 @@
  */
 package org.apache.logging.log4j.catalog.api.dao;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.catalog.api.Attribute;
 import org.apache.logging.log4j.catalog.api.CatalogReader;
+import org.apache.logging.log4j.catalog.api.util.CatalogObjectMappers;
 
 /**
  * Provides access to the JSON version of the catalog. This version is not modifiable.
@@ -47,7 +45,7 @@ public class JsonCatalogReader extends AbstractCatalogReader {
 
     // @PostConstruct
     public void init() {
-        catalogData = catalogReader.read();
+        setCatalogData(catalogReader.read());
         for (Attribute attribute : catalogData.getAttributes()) {
             attributes.put(attribute.getName(), attribute);
         }
@@ -55,11 +53,8 @@ public class JsonCatalogReader extends AbstractCatalogReader {
 
     @Override
     public String readCatalog() {
-        JsonFactory factory = new JsonFactory();
-        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
-        ObjectMapper mapper = new ObjectMapper(factory);
         try {
-            return mapper.writeValueAsString(catalogData);
+            return CatalogObjectMappers.catalogWriter().writeValueAsString(catalogData);
         } catch (JsonProcessingException ex) {
             LOGGER.error("Unable to serialze Catalog", ex);
             return null;
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.catalog.api.dao;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.catalog.api.CatalogData;
+import org.apache.logging.log4j.catalog.api.CatalogDiff;
+import org.apache.logging.log4j.catalog.api.CatalogListener;
+
+/**
+ * Reads the catalog from the local file system and reloads it whenever the file changes. The file is watched by
+ * a background thread which parses the new catalog, compares it with the previous version and passes the Events
+ * and Attributes that changed to the registered CatalogListeners. Threads reading the catalog are never blocked
+ * by a reload.
+ */
+public class WatchingFileCatalogReader extends FileCatalogReader implements Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger(WatchingFileCatalogReader.class);
+
+    private static final String QUIET_PERIOD_ATTRIBUTE_NAME = "quietPeriod";
+
+    private static final long DEFAULT_QUIET_PERIOD_MILLIS = 100;
+
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    private final long quietPeriodMillis;
+
+    private final WatchService watchService;
+
+    private final Thread watcher;
+
+    public WatchingFileCatalogReader(Map<String, String> attributes) throws IOException {
+        super(attributes);
+        String quietPeriod = attributes.get(QUIET_PERIOD_ATTRIBUTE_NAME);
+        quietPeriodMillis = quietPeriod != null ? Long.parseLong(quietPeriod) : DEFAULT_QUIET_PERIOD_MILLIS;
+        Path directory = getPath().toAbsolutePath().getParent();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        watcher = new Thread(this::watch, "CatalogWatcher-" + getPath().getFileName());
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Registers a CatalogListener to be called when the catalog changes. The listener is assumed to have applied
+     * the catalog that is current when it is registered.
+     * @param listener The CatalogListener.
+     */
+    public synchronized void addListener(CatalogListener listener) {
+        registrations.add(new Registration(listener, read()));
+    }
+
+    public void removeListener(CatalogListener listener) {
+        registrations.removeIf(registration -> registration.listener == listener);
+    }
+
+    /**
+     * Reloads the catalog and notifies the listeners if it changed. If the catalog cannot be read or parsed the
+     * error is logged and the current catalog is retained. Each listener is passed the changes since the catalog
+     * it last applied, so a listener that rejected a change receives it again with the next reload.
+     */
+    public synchronized void reload() {
+        CatalogData previous;
+        try {
+            previous = load();
+        } catch (IOException ex) {
+            LOGGER.error("Unable to reload catalog {}: {}", getPath(), ex.getMessage());
+            return;
+        }
+        CatalogData current = read();
+        CatalogData applied = previous;
+        CatalogDiff diff = CatalogDiff.compute(previous, current);
+        if (diff.isEmpty()) {
+            LOGGER.debug("Catalog {} was modified but its contents did not change", getPath());
+        } else {
+            LOGGER.info("Catalog {} changed: {}", getPath(), diff);
+        }
+        for (Registration registration : registrations) {
+            if (registration.applied != applied) {
+                applied = registration.applied;
+                diff = CatalogDiff.compute(applied, current);
+            }
+            if (diff.isEmpty()) {
+                registration.applied = current;
+                continue;
+            }
+            try {
+                registration.listener.catalogChanged(current, diff);
+                registration.applied = current;
+            } catch (RuntimeException ex) {
+                LOGGER.error("Unable to apply the changes to catalog {}", getPath(), ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.interrupt();
+        watchService.close();
+    }
+
+    private void watch() {
+        Path fileName = getPath().getFileName();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean changed = isCatalogEvent(watchService.take(), fileName);
+                // Editors often write a file in several steps so wait for the events to stop before reloading.
+                WatchKey key;
+                while ((key = watchService.poll(quietPeriodMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= isCatalogEvent(key, fileName);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            LOGGER.debug("Stopped watching catalog {}", getPath());
+        }
+    }
+
+    private static boolean isCatalogEvent(WatchKey key, Path fileName) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || fileName.equals(event.context())) {
+                found = true;
+            }
+        }
+        key.reset();
+        return found;
+    }
+
+    private static final class Registration {
+        private final CatalogListener listener;
+
+        /**
+         * The catalog the listener last applied. Only accessed while holding the reader's lock.
+         */
+        private CatalogData applied;
+
+        private Registration(CatalogListener listener, CatalogData applied) {
+            this.listener = listener;
+            this.applied = applied;
+        }
+    }
+}
@@ -19,7 +19,9 @@ package org.apache.logging.log4j.catalog.api.plugins;
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.appendNewline;
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.isBlank;
 
-import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
 import org.apache.logging.log4j.catalog.api.ConstraintType;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 
@@ -29,17 +31,31 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
 @Plugin(name = "anyCaseEnum", category = ConstraintType.CATEGORY)
 public class CaseInsensitiveEnumConstraint implements ConstraintType {
 
+    private final ConstraintCache cache = new ConstraintCache(this::compile);
+
     @Override
     public void validate(boolean isRequestContext, String name, String value, String enums, StringBuilder error) {
-        if (!isBlank(enums) && !isBlank(value)) {
-            boolean result = Arrays.stream(enums.trim().split("\\s*,\\s*")).anyMatch(value::equalsIgnoreCase);
-            if (!result) {
+        cache.get(enums).validate(isRequestContext, name, value, error);
+    }
+
+    @Override
+    public CompiledConstraint compile(String enums) {
+        if (isBlank(enums)) {
+            return (isRequestContext, name, value, error) -> {};
+        }
+        // Compares the values the same way as String.equalsIgnoreCase.
+        Set<String> values = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String str : enums.trim().split("\\s*,\\s*")) {
+            values.add(str);
+        }
+        return (isRequestContext, name, value, error) -> {
+            if (!isBlank(value) && !values.contains(value)) {
                 appendNewline(error);
                 if (isRequestContext) {
                     error.append("ThreadContext key ");
                 }
                 error.append(name).append(" does not match one of the values: ").append(enums);
             }
-        }
+        };
     }
 }
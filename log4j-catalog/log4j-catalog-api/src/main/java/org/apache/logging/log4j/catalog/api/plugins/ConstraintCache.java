@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.catalog.api.plugins;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
+
+/**
+ * A bounded cache of CompiledConstraints keyed by the constraint value. When the cache is full an arbitrary
+ * entry is discarded to make room for the new one.
+ */
+public class ConstraintCache {
+
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final ConcurrentMap<String, CompiledConstraint> cache = new ConcurrentHashMap<>();
+
+    private final Function<String, CompiledConstraint> compiler;
+
+    private final int maxSize;
+
+    public ConstraintCache(Function<String, CompiledConstraint> compiler) {
+        this(compiler, DEFAULT_MAX_SIZE);
+    }
+
+    public ConstraintCache(Function<String, CompiledConstraint> compiler, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be at least 1");
+        }
+        this.compiler = compiler;
+        this.maxSize = maxSize;
+    }
+
+    public CompiledConstraint get(String constraintValue) {
+        if (constraintValue == null) {
+            return compiler.apply(null);
+        }
+        CompiledConstraint compiled = cache.get(constraintValue);
+        if (compiled == null) {
+            compiled = compiler.apply(constraintValue);
+            if (cache.size() >= maxSize) {
+                Iterator<String> iter = cache.keySet().iterator();
+                if (iter.hasNext()) {
+                    iter.next();
+                    iter.remove();
+                }
+            }
+            CompiledConstraint existing = cache.putIfAbsent(constraintValue, compiled);
+            if (existing != null) {
+                compiled = existing;
+            }
+        }
+        return compiled;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
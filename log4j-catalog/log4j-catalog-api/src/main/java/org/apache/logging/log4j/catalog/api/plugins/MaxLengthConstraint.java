@@ -19,6 +19,7 @@ package org.apache.logging.log4j.catalog.api.plugins;
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.appendNewline;
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.isBlank;
 
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
 import org.apache.logging.log4j.catalog.api.ConstraintType;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 
@@ -28,35 +29,48 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
 @Plugin(name = "maxLength", category = ConstraintType.CATEGORY)
 public class MaxLengthConstraint implements ConstraintType {
 
+    private final ConstraintCache cache = new ConstraintCache(this::compile);
+
     @Override
     public void validate(boolean isRequestContext, String name, String value, String maxLength, StringBuilder error) {
+        cache.get(maxLength).validate(isRequestContext, name, value, error);
+    }
+
+    @Override
+    public CompiledConstraint compile(String maxLength) {
         if (isBlank(maxLength)) {
-            appendNewline(error);
-            if (isRequestContext) {
-                error.append("ThreadContext key ");
-            }
-            error.append(name).append(" has no maximum length value defined");
-            return;
+            return (isRequestContext, name, value, error) -> {
+                appendNewline(error);
+                if (isRequestContext) {
+                    error.append("ThreadContext key ");
+                }
+                error.append(name).append(" has no maximum length value defined");
+            };
         }
-        if (!isBlank(value)) {
-            try {
-                int maxlen = Integer.parseInt(maxLength);
-                if (value.length() > maxlen) {
+        final int len;
+        try {
+            len = Integer.parseInt(maxLength);
+        } catch (Exception ex) {
+            return (isRequestContext, name, value, error) -> {
+                if (!isBlank(value)) {
                     appendNewline(error);
                     if (isRequestContext) {
                         error.append("ThreadContext key ");
                     }
-                    error.append(name).append(" exceeds ").append(maxLength).append(" characters.");
+                    error.append(name)
+                            .append(" encountered an error trying to determine the maximum length value: ")
+                            .append(ex.getMessage());
                 }
-            } catch (Exception ex) {
+            };
+        }
+        return (isRequestContext, name, value, error) -> {
+            if (!isBlank(value) && value.length() > len) {
                 appendNewline(error);
                 if (isRequestContext) {
                     error.append("ThreadContext key ");
                 }
-                error.append(name)
-                        .append(" encountered an error trying to determine the maximum length value: ")
-                        .append(ex.getMessage());
+                error.append(name).append(" exceeds ").append(maxLength).append(" characters.");
             }
-        }
+        };
     }
 }
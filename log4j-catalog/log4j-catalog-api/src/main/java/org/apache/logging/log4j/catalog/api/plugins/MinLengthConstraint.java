@@ -19,6 +19,7 @@ package org.apache.logging.log4j.catalog.api.plugins;
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.appendNewline;
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.isBlank;
 
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
 import org.apache.logging.log4j.catalog.api.ConstraintType;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 
@@ -28,38 +29,51 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
 @Plugin(name = "minLength", category = ConstraintType.CATEGORY)
 public class MinLengthConstraint implements ConstraintType {
 
+    private final ConstraintCache cache = new ConstraintCache(this::compile);
+
     @Override
     public void validate(boolean isRequestContext, String name, String value, String minLength, StringBuilder error) {
+        cache.get(minLength).validate(isRequestContext, name, value, error);
+    }
+
+    @Override
+    public CompiledConstraint compile(String minLength) {
         if (isBlank(minLength)) {
-            appendNewline(error);
-            if (isRequestContext) {
-                error.append("ThreadContext key ");
-            }
-            error.append(name).append(" has no minimum length value defined");
-            return;
+            return (isRequestContext, name, value, error) -> {
+                appendNewline(error);
+                if (isRequestContext) {
+                    error.append("ThreadContext key ");
+                }
+                error.append(name).append(" has no minimum length value defined");
+            };
         }
-        if (!isBlank(value)) {
-            try {
-                int minlen = Integer.parseInt(minLength);
-                if (value.length() < minlen) {
+        final int len;
+        try {
+            len = Integer.parseInt(minLength);
+        } catch (Exception ex) {
+            return (isRequestContext, name, value, error) -> {
+                if (!isBlank(value)) {
                     appendNewline(error);
                     if (isRequestContext) {
                         error.append("ThreadContext key ");
                     }
                     error.append(name)
-                            .append(" does not contain ")
-                            .append(minLength)
-                            .append(" characters.");
+                            .append(" encountered an error trying to determine the minimum length value: ")
+                            .append(ex.getMessage());
                 }
-            } catch (Exception ex) {
+            };
+        }
+        return (isRequestContext, name, value, error) -> {
+            if (!isBlank(value) && value.length() < len) {
                 appendNewline(error);
                 if (isRequestContext) {
                     error.append("ThreadContext key ");
                 }
                 error.append(name)
-                        .append(" encountered an error trying to determine the minimum length value: ")
-                        .append(ex.getMessage());
+                        .append(" does not contain ")
+                        .append(minLength)
+                        .append(" characters.");
             }
-        }
+        };
     }
 }
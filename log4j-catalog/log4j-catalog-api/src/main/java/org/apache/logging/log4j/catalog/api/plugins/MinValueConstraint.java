@@ -20,6 +20,7 @@ import static org.apache.logging.log4j.catalog.api.util.StringUtils.appendNewlin
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.isBlank;
 
 import java.math.BigDecimal;
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
 import org.apache.logging.log4j.catalog.api.ConstraintType;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 
@@ -29,36 +30,59 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
 @Plugin(name = "minValue", category = ConstraintType.CATEGORY)
 public class MinValueConstraint implements ConstraintType {
 
+    private final ConstraintCache cache = new ConstraintCache(this::compile);
+
     @Override
     public void validate(boolean isRequestContext, String name, String value, String minValue, StringBuilder error) {
+        cache.get(minValue).validate(isRequestContext, name, value, error);
+    }
+
+    @Override
+    public CompiledConstraint compile(String minValue) {
         if (isBlank(minValue)) {
-            appendNewline(error);
-            if (isRequestContext) {
-                error.append("ThreadContext key ");
-            }
-            error.append(name).append(" has no value for the minimum value defined");
-            return;
-        }
-        if (!isBlank(value)) {
-            try {
-                BigDecimal minVal = new BigDecimal(minValue);
-                BigDecimal val = new BigDecimal(value);
-                if (val.compareTo(minVal) < 0) {
-                    appendNewline(error);
-                    if (isRequestContext) {
-                        error.append("ThreadContext key ");
-                    }
-                    error.append(name).append(" is less than ").append(minValue);
-                }
-            } catch (Exception ex) {
+            return (isRequestContext, name, value, error) -> {
                 appendNewline(error);
                 if (isRequestContext) {
                     error.append("ThreadContext key ");
                 }
-                error.append(name)
-                        .append(" encountered an error trying to determine the minimum value: ")
-                        .append(ex.getMessage());
+                error.append(name).append(" has no value for the minimum value defined");
+            };
+        }
+        final BigDecimal limit;
+        try {
+            limit = new BigDecimal(minValue);
+        } catch (Exception ex) {
+            return (isRequestContext, name, value, error) -> {
+                if (!isBlank(value)) {
+                    appendError(isRequestContext, name, ex, error);
+                }
+            };
+        }
+        return (isRequestContext, name, value, error) -> {
+            if (!isBlank(value)) {
+                try {
+                    BigDecimal val = new BigDecimal(value);
+                    if (val.compareTo(limit) < 0) {
+                        appendNewline(error);
+                        if (isRequestContext) {
+                            error.append("ThreadContext key ");
+                        }
+                        error.append(name).append(" is less than ").append(minValue);
+                    }
+                } catch (Exception ex) {
+                    appendError(isRequestContext, name, ex, error);
+                }
             }
+        };
+    }
+
+    private static void appendError(boolean isRequestContext, String name, Exception ex, StringBuilder error) {
+        appendNewline(error);
+        if (isRequestContext) {
+            error.append("ThreadContext key ");
         }
+        error.append(name)
+                .append(" encountered an error trying to determine the minimum value: ")
+                .append(ex.getMessage());
     }
 }
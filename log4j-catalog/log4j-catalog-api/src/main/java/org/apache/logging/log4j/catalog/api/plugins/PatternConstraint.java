@@ -19,6 +19,9 @@ package org.apache.logging.log4j.catalog.api.plugins;
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.appendNewline;
 import static org.apache.logging.log4j.catalog.api.util.StringUtils.isBlank;
 
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.apache.logging.log4j.catalog.api.CompiledConstraint;
 import org.apache.logging.log4j.catalog.api.ConstraintType;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 
@@ -28,16 +31,37 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
 @Plugin(name = "pattern", category = ConstraintType.CATEGORY)
 public class PatternConstraint implements ConstraintType {
 
+    private final ConstraintCache cache = new ConstraintCache(this::compile);
+
     @Override
     public void validate(boolean isRequestContext, String name, String value, String pattern, StringBuilder error) {
-        if (!isBlank(pattern) && !isBlank(value)) {
-            if (!value.matches(pattern)) {
+        cache.get(pattern).validate(isRequestContext, name, value, error);
+    }
+
+    @Override
+    public CompiledConstraint compile(String pattern) {
+        if (isBlank(pattern)) {
+            return (isRequestContext, name, value, error) -> {};
+        }
+        final Pattern compiled;
+        try {
+            compiled = Pattern.compile(pattern);
+        } catch (PatternSyntaxException ex) {
+            // An invalid pattern is only reported when there is a value to compare with it.
+            return (isRequestContext, name, value, error) -> {
+                if (!isBlank(value)) {
+                    throw new PatternSyntaxException(ex.getDescription(), ex.getPattern(), ex.getIndex());
+                }
+            };
+        }
+        return (isRequestContext, name, value, error) -> {
+            if (!isBlank(value) && !compiled.matcher(value).matches()) {
                 appendNewline(error);
                 if (isRequestContext) {
                     error.append("ThreadContext key ");
                 }
                 error.append(name).append(" does not match pattern ").append(pattern);
             }
-        }
+        };
     }
 }
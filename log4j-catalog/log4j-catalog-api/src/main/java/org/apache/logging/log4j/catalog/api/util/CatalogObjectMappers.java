@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.catalog.api.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.logging.log4j.catalog.api.CatalogData;
+
+/**
+ * Shared Jackson readers and writers for the catalog. An ObjectMapper caches the serializers and deserializers it
+ * builds for each type, so sharing one configured mapper avoids rebuilding them every time a catalog is read or
+ * written. The JSON parser accepts comments and the "catalogEvent" filter used by Event is registered.
+ *
+ * ObjectReaders and ObjectWriters are immutable and thread-safe. The shared ObjectMapper must not be reconfigured;
+ * use {@link #createMapper()} to obtain one that can be customized.
+ */
+public final class CatalogObjectMappers {
+
+    /**
+     * The id of the filter used by the Event class.
+     */
+    public static final String CATALOG_EVENT_FILTER = "catalogEvent";
+
+    private static final ObjectMapper MAPPER = createMapper();
+
+    private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Class<?>, ObjectWriter> PRETTY_WRITERS = new ConcurrentHashMap<>();
+
+    private CatalogObjectMappers() {}
+
+    /**
+     * Creates a new ObjectMapper configured for the catalog.
+     * @return The ObjectMapper.
+     */
+    public static ObjectMapper createMapper() {
+        JsonFactory factory = new JsonFactory();
+        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
+        return configure(new ObjectMapper(factory));
+    }
+
+    /**
+     * Registers the filters required by the catalog classes with an ObjectMapper, such as one using a binary format.
+     * @param mapper The ObjectMapper.
+     * @return The ObjectMapper.
+     */
+    public static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.setFilterProvider(
+                new SimpleFilterProvider().addFilter(CATALOG_EVENT_FILTER, new CatalogEventFilter()));
+    }
+
+    /**
+     * Returns the shared ObjectMapper.
+     * @return The ObjectMapper.
+     */
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Returns the shared ObjectReader for a type.
+     * @param type The type being read.
+     * @return The ObjectReader.
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    /**
+     * Returns the shared ObjectWriter for a type.
+     * @param type The type being written.
+     * @return The ObjectWriter.
+     */
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    /**
+     * Returns the shared ObjectWriter for a type that indents its output.
+     * @param type The type being written.
+     * @return The ObjectWriter.
+     */
+    public static ObjectWriter prettyWriter(Class<?> type) {
+        return PRETTY_WRITERS.computeIfAbsent(type, t -> MAPPER.writerFor(t).withDefaultPrettyPrinter());
+    }
+
+    /**
+     * Returns the shared ObjectReader for the catalog.
+     * @return The ObjectReader.
+     */
+    public static ObjectReader catalogReader() {
+        return reader(CatalogData.class);
+    }
+
+    /**
+     * Returns the shared ObjectWriter for the catalog.
+     * @return The ObjectWriter.
+     */
+    public static ObjectWriter catalogWriter() {
+        return writer(CatalogData.class);
+    }
+}
@@ -162,6 +162,21 @@ public class WebMvcAppContext extends WebMvcConfigurerAdapter implements Applica
     @Value("${remoteRepoCatalogPath:#{null}}")
     private String remoteRepoCatalogPath;
 
+    @Value("${gitSyncInterval:0}")
+    private long gitSyncInterval;
+
+    @Value("${gitWriteDelay:0}")
+    private long gitWriteDelay;
+
+    @Value("${gitBare:false}")
+    private boolean gitBare;
+
+    @Value("${gitDepth:0}")
+    private int gitDepth;
+
+    @Value("${gitRevision:#{null}}")
+    private String gitRevision;
+
     @Bean
     public CatalogDao catalogDao() {
         GitCatalogDao dataSource = new GitCatalogDao();
@@ -252,6 +267,13 @@ public class WebMvcAppContext extends WebMvcConfigurerAdapter implements Applica
         if (isNotBlank(remoteRepoCatalogPath)) {
             dataSource.setCatalogPath(remoteRepoCatalogPath);
         }
+        dataSource.setSyncInterval(gitSyncInterval);
+        dataSource.setWriteDelay(gitWriteDelay);
+        dataSource.setBare(gitBare);
+        dataSource.setDepth(gitDepth);
+        if (isNotBlank(gitRevision)) {
+            dataSource.setRevision(gitRevision);
+        }
         return dataSource;
     }
 }
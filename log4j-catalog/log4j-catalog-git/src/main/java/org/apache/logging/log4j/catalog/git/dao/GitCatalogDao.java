@@ -16,17 +16,20 @@
  */
 package org.apache.logging.log4j.catalog.git.dao;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.catalog.api.CatalogData;
@@ -35,22 +38,30 @@ import org.apache.logging.log4j.catalog.api.dao.CatalogDao;
 import org.apache.logging.log4j.catalog.api.exception.CatalogModificationException;
 import org.apache.logging.log4j.catalog.api.exception.CatalogNotFoundException;
 import org.apache.logging.log4j.catalog.api.exception.CatalogReadException;
-import org.apache.logging.log4j.catalog.api.util.CatalogEventFilter;
+import org.apache.logging.log4j.catalog.api.util.CatalogObjectMappers;
 import org.eclipse.jgit.api.CloneCommand;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.PullCommand;
 import org.eclipse.jgit.api.PushCommand;
 import org.eclipse.jgit.api.TransportConfigCallback;
 import org.eclipse.jgit.api.errors.GitAPIException;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.eclipse.jgit.treewalk.TreeWalk;
 
-public class GitCatalogDao extends AbstractCatalogReader implements CatalogDao {
+public class GitCatalogDao extends AbstractCatalogReader implements CatalogDao, AutoCloseable {
     private static final Logger LOGGER = LogManager.getLogger();
     private static final String DEFAULT_CATALOG_PATH = "src/main/resources/catalog.json";
-
-    private final ObjectMapper mapper;
+    private static final String REMOTE = Constants.DEFAULT_REMOTE_NAME;
+    private static final long CLOSE_TIMEOUT_MILLIS = 30000;
 
     private CredentialsProvider credentialsProvider = null;
     private TransportConfigCallback transportConfigCallback = null;
@@ -58,19 +69,34 @@ public class GitCatalogDao extends AbstractCatalogReader implements CatalogDao {
     private String localRepoPath = null;
     private String catalogPath = DEFAULT_CATALOG_PATH;
     private String branch = null;
+    private long syncInterval = 0;
+    private long writeDelay = 0;
+    private boolean bare = false;
+    private int depth = 0;
+    private String revision = null;
 
     private Repository localRepo = null;
     private Git git = null;
     private File catalogFile = null;
+    private final ScheduledThreadPoolExecutor executor = createExecutor();
+    private volatile boolean syncStarted = false;
 
-    public GitCatalogDao() {
-        JsonFactory factory = new JsonFactory();
-        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
-        mapper = new ObjectMapper(factory).enable(SerializationFeature.INDENT_OUTPUT);
-        SimpleFilterProvider filterProvider = new SimpleFilterProvider();
-        filterProvider.addFilter("catalogEvent", new CatalogEventFilter());
-        mapper.setFilterProvider(filterProvider);
-    }
+    /**
+     * Guards the write queue and the background tasks. It is never held while the repository is accessed.
+     */
+    private final Object writeLock = new Object();
+
+    private boolean closed = false;
+    private byte[] pendingBytes = null;
+    private List<CompletableFuture<ObjectId>> pendingWrites = new ArrayList<>();
+    private ScheduledFuture<?> flushTask = null;
+    private ScheduledFuture<?> syncTask = null;
+
+    private ObjectId commitId = null;
+    private ObjectId blobId = null;
+    private volatile CatalogData cachedData = null;
+
+    public GitCatalogDao() {}
 
     public CredentialsProvider getCredentialsProvider() {
         return credentialsProvider;
@@ -120,48 +146,220 @@ public class GitCatalogDao extends AbstractCatalogReader implements CatalogDao {
         this.branch = branch;
     }
 
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * Fetches changes from the remote repository on a background thread instead of on every call to read. When
+     * enabled, read returns the catalog from the last sync without accessing the remote repository.
+     * @param syncInterval The number of milliseconds between fetches, or 0 to fetch on every read.
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public long getWriteDelay() {
+        return writeDelay;
+    }
+
+    /**
+     * Commits and pushes written catalogs on a background thread. Catalogs written within the delay are combined
+     * into a single commit containing the last one, and write returns without waiting for the push.
+     * @param writeDelay The number of milliseconds to wait for further writes, or 0 to commit and push on every
+     * call to write.
+     */
+    public void setWriteDelay(long writeDelay) {
+        this.writeDelay = writeDelay;
+    }
+
+    public boolean isBare() {
+        return bare;
+    }
+
+    /**
+     * Clones the remote repository without a working tree. The catalog is always read from the Git object database,
+     * so a bare repository only avoids the checkout. A bare repository cannot be written to.
+     * @param bare true if the local repository should be bare.
+     */
+    public void setBare(boolean bare) {
+        this.bare = bare;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Limits the history that is cloned and fetched to the given number of commits.
+     * @param depth The number of commits, or 0 to fetch the full history.
+     */
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    /**
+     * Reads the catalog from the given revision instead of HEAD. The revision may be a commit id, a tag or a branch.
+     * A commit id pins the catalog, so the remote repository is not fetched again once the commit is present.
+     * @param revision The revision to read.
+     */
+    public void setRevision(String revision) {
+        this.revision = revision;
+    }
+
     @Override
-    public LocalDateTime getLastUpdated() {
+    public synchronized LocalDateTime getLastUpdated() {
         if (localRepo == null) {
             updateRepo();
         }
-        return LocalDateTime.ofInstant(Instant.ofEpochMilli(catalogFile.lastModified()), ZoneId.systemDefault());
+        if (revision == null && catalogFile != null && catalogFile.exists()) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(catalogFile.lastModified()), ZoneId.systemDefault());
+        }
+        try (RevWalk revWalk = new RevWalk(localRepo)) {
+            RevCommit commit = revWalk.parseCommit(resolveCommit());
+            return LocalDateTime.ofInstant(Instant.ofEpochSecond(commit.getCommitTime()), ZoneId.systemDefault());
+        } catch (IOException ioe) {
+            throw new CatalogReadException("Error reading catalog " + catalogPath + " from " + localRepoPath, ioe);
+        }
     }
 
     @Override
-    public synchronized CatalogData read() {
+    public CatalogData read() {
+        if (syncInterval > 0) {
+            if (!syncStarted) {
+                startSync();
+            }
+            CatalogData data = cachedData;
+            if (data != null) {
+                return data;
+            }
+        }
+        synchronized (this) {
+            updateRepo();
+            return refresh();
+        }
+    }
+
+    /**
+     * Fetches changes from the remote repository and reloads the catalog if the version on the branch has changed.
+     * @return true if the catalog was reloaded.
+     */
+    public synchronized boolean sync() {
+        CatalogData previous = cachedData;
         updateRepo();
-        if (catalogFile == null) {
-            throw new CatalogNotFoundException();
+        return refresh() != previous;
+    }
+
+    /**
+     * Commits and pushes the catalog. If a write delay is configured the catalog is queued instead and a failure to
+     * commit or push it is only logged; use {@link #writeAsync(CatalogData)} to be notified of such failures.
+     */
+    @Override
+    public void write(CatalogData data) {
+        checkWritable();
+        if (writeDelay > 0) {
+            enqueue(serialize(data), null);
+        } else {
+            commit(serialize(data));
         }
+    }
+
+    /**
+     * Queues the catalog to be committed and pushed after the write delay.
+     * @param data The catalog.
+     * @return A future that completes with the id of the commit containing the catalog once it has been pushed, or
+     * exceptionally if it could not be committed or pushed.
+     * @throws CatalogModificationException if the catalog is read only or the DAO has been closed.
+     */
+    public CompletableFuture<ObjectId> writeAsync(CatalogData data) {
+        checkWritable();
+        CompletableFuture<ObjectId> future = new CompletableFuture<>();
+        enqueue(serialize(data), future);
+        return future;
+    }
 
-        if (!catalogFile.exists() || !catalogFile.canRead()) {
-            throw new CatalogReadException("Catalog " + catalogFile.getAbsolutePath() + " is not readable.");
+    private void enqueue(byte[] bytes, CompletableFuture<ObjectId> future) {
+        synchronized (writeLock) {
+            if (closed) {
+                throw new CatalogModificationException("Catalog has been closed: " + localRepoPath);
+            }
+            boolean schedule = pendingBytes == null;
+            pendingBytes = bytes;
+            if (future != null) {
+                pendingWrites.add(future);
+            }
+            if (schedule) {
+                flushTask = executor.schedule(this::flushWrites, writeDelay, TimeUnit.MILLISECONDS);
+            }
         }
+    }
 
+    private void flushWrites() {
+        byte[] bytes;
+        List<CompletableFuture<ObjectId>> futures;
+        synchronized (writeLock) {
+            bytes = pendingBytes;
+            futures = pendingWrites;
+            pendingBytes = null;
+            pendingWrites = new ArrayList<>();
+        }
+        if (bytes == null) {
+            return;
+        }
         try {
-            catalogData = mapper.readValue(catalogFile, CatalogData.class);
-            return catalogData;
-        } catch (IOException ioe) {
-            throw new CatalogReadException("Error reading catalog from " + catalogFile.getAbsolutePath(), ioe);
+            ObjectId commitId = commit(bytes);
+            futures.forEach(future -> future.complete(commitId));
+        } catch (RuntimeException ex) {
+            LOGGER.error("Unable to write catalog to {}", remoteRepoUri, ex);
+            futures.forEach(future -> future.completeExceptionally(ex));
         }
     }
 
-    @Override
-    public void write(CatalogData data) {
+    private void checkWritable() {
         File localRepoFile = new File(localRepoPath);
         if (!localRepoFile.exists() || !localRepoFile.canWrite()) {
             throw new CatalogModificationException("Catalog is not writable: " + localRepoFile.getAbsolutePath());
         }
+        if (bare || revision != null) {
+            throw new CatalogModificationException("Catalog is read only: " + localRepoFile.getAbsolutePath());
+        }
+    }
 
-        try (FileWriter writer = new FileWriter(catalogFile)) {
-            String text = mapper.writeValueAsString(data);
-            writer.write(text);
+    private static byte[] serialize(CatalogData data) {
+        try {
+            return CatalogObjectMappers.prettyWriter(CatalogData.class).writeValueAsBytes(data);
         } catch (IOException ioException) {
-            throw new CatalogModificationException("Unable to write catalog file.", ioException);
+            throw new CatalogModificationException("Unable to serialize catalog.", ioException);
         }
+    }
+
+    /**
+     * Commits and pushes the catalog unless it is identical to the one at HEAD.
+     * @param bytes The serialized catalog.
+     * @return The id of the commit containing the catalog.
+     */
+    private synchronized ObjectId commit(byte[] bytes) {
+        checkWritable();
+        openRepo();
 
-        try (Git git = Git.open(localRepoFile)) {
+        try {
+            ObjectId head = localRepo.resolve(Constants.HEAD);
+            if (head != null) {
+                ObjectId blob = new ObjectInserter.Formatter().idFor(Constants.OBJ_BLOB, bytes);
+                if (blob.equals(findBlob(head))) {
+                    LOGGER.debug("Catalog {} is unchanged", catalogPath);
+                    return head;
+                }
+            }
+            Files.write(catalogFile.toPath(), bytes);
+        } catch (IOException ioException) {
+            throw new CatalogModificationException("Unable to write catalog file.", ioException);
+        }
+        try {
             git.add().addFilepattern(catalogPath).call();
             git.commit().setMessage("Catalog updated").call();
             updateRepo();
@@ -172,10 +370,20 @@ public class GitCatalogDao extends AbstractCatalogReader implements CatalogDao {
             if (transportConfigCallback != null) {
                 pushCommand.setTransportConfigCallback(transportConfigCallback);
             }
-            pushCommand.call();
-        } catch (GitAPIException | IOException ex) {
+            for (PushResult result : pushCommand.call()) {
+                for (RemoteRefUpdate update : result.getRemoteUpdates()) {
+                    if (update.getStatus() != RemoteRefUpdate.Status.OK
+                            && update.getStatus() != RemoteRefUpdate.Status.UP_TO_DATE) {
+                        throw new CatalogModificationException(
+                                "Unable to push catalog to " + update.getRemoteName() + ": " + update.getStatus());
+                    }
+                }
+            }
+        } catch (GitAPIException ex) {
             throw new CatalogModificationException("Unable to modify catalog", ex);
         }
+        refresh();
+        return commitId;
     }
 
     @Override
@@ -183,14 +391,136 @@ public class GitCatalogDao extends AbstractCatalogReader implements CatalogDao {
         return null;
     }
 
-    private void updateRepo() {
+    /**
+     * Stops the background thread, commits any queued catalog and releases the local repository. Catalogs written
+     * after the DAO has been closed are rejected.
+     */
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (syncTask != null) {
+                syncTask.cancel(false);
+            }
+            if (flushTask != null) {
+                flushTask.cancel(false);
+            }
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // Commit a write queued before the DAO was closed whose flush was cancelled.
+        flushWrites();
+        synchronized (this) {
+            if (git != null) {
+                git.close();
+                git = null;
+                localRepo = null;
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "GitCatalogDao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    private void startSync() {
+        synchronized (writeLock) {
+            if (syncStarted || closed) {
+                return;
+            }
+            syncStarted = true;
+            syncTask = executor.scheduleWithFixedDelay(
+                    () -> {
+                        try {
+                            if (sync()) {
+                                LOGGER.debug("Catalog {} reloaded from {}", catalogPath, remoteRepoUri);
+                            }
+                        } catch (RuntimeException ex) {
+                            LOGGER.error("Unable to sync catalog from {}", remoteRepoUri, ex);
+                        }
+                    },
+                    syncInterval,
+                    syncInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
 
+    /**
+     * Parses the catalog at the configured revision unless it is the same blob that was parsed previously.
+     */
+    private CatalogData refresh() {
+        try {
+            ObjectId commit = resolveCommit();
+            CatalogData data = cachedData;
+            if (data != null && commit.equals(commitId)) {
+                return data;
+            }
+            ObjectId blob = findBlob(commit);
+            if (blob == null) {
+                throw new CatalogNotFoundException("Catalog " + catalogPath + " not found in " + localRepoPath);
+            }
+            if (data == null || !blob.equals(blobId)) {
+                LOGGER.debug("Loading catalog {} from blob {}", catalogPath, blob.name());
+                try (InputStream is = localRepo.open(blob, Constants.OBJ_BLOB).openStream()) {
+                    data = CatalogObjectMappers.catalogReader().readValue(is);
+                }
+                setCatalogData(data);
+                blobId = blob;
+                cachedData = data;
+            }
+            commitId = commit;
+            return data;
+        } catch (IOException ioe) {
+            throw new CatalogReadException("Error reading catalog " + catalogPath + " from " + localRepoPath, ioe);
+        }
+    }
+
+    private ObjectId resolveCommit() throws IOException {
+        ObjectId commit = localRepo.resolve(revision != null ? revision + "^{commit}" : Constants.HEAD);
+        if (commit == null) {
+            throw new CatalogNotFoundException(
+                    "Revision " + (revision != null ? revision : Constants.HEAD) + " not found in " + localRepoPath);
+        }
+        return commit;
+    }
+
+    private ObjectId findBlob(ObjectId commitId) throws IOException {
+        try (RevWalk revWalk = new RevWalk(localRepo)) {
+            RevCommit commit = revWalk.parseCommit(commitId);
+            try (TreeWalk treeWalk = TreeWalk.forPath(localRepo, catalogPath, commit.getTree())) {
+                return treeWalk != null ? treeWalk.getObjectId(0) : null;
+            }
+        }
+    }
+
+    private void openRepo() {
+        if (git != null) {
+            return;
+        }
         File localRepoFile = new File(localRepoPath);
         if (!localRepoFile.exists()) {
             LOGGER.debug("local git repo {} does not exist - creating it", localRepoPath);
             localRepoFile.getParentFile().mkdirs();
-            CloneCommand cloneCommand =
-                    Git.cloneRepository().setURI(remoteRepoUri).setDirectory(localRepoFile);
+            CloneCommand cloneCommand = Git.cloneRepository()
+                    .setURI(remoteRepoUri)
+                    .setDirectory(localRepoFile)
+                    .setBare(bare);
+            if (depth > 0) {
+                cloneCommand.setDepth(depth);
+            }
             if (branch != null) {
                 cloneCommand.setBranch(branch);
             }
@@ -200,34 +530,68 @@ public class GitCatalogDao extends AbstractCatalogReader implements CatalogDao {
             if (transportConfigCallback != null) {
                 cloneCommand.setTransportConfigCallback(transportConfigCallback);
             }
-            try (Git git = cloneCommand.call()) {
-                catalogFile = new File(localRepoFile, catalogPath);
+            try {
+                git = cloneCommand.call();
             } catch (Exception ex) {
                 throw new CatalogNotFoundException(
                         "Unable to clone remote catalog at " + remoteRepoUri + " to " + localRepoPath, ex);
             }
         } else {
             try {
-                LOGGER.debug("local git repo {} exists - updating", localRepoPath);
-                localRepo = new FileRepository(localRepoPath + "/.git");
-                catalogFile = new File(localRepoFile, catalogPath);
-                git = new Git(localRepo);
-                PullCommand pullCommand = git.pull();
-                try {
-                    if (credentialsProvider != null) {
-                        pullCommand.setCredentialsProvider(credentialsProvider);
-                    }
-                    if (transportConfigCallback != null) {
-                        pullCommand.setTransportConfigCallback(transportConfigCallback);
-                    }
-                    pullCommand.call();
-                } catch (GitAPIException gitApiException) {
-                    LOGGER.error("Exception", gitApiException);
+                git = Git.open(localRepoFile);
+            } catch (IOException ex) {
+                throw new CatalogReadException("Unable to open local catalog repository " + localRepoPath, ex);
+            }
+        }
+        localRepo = git.getRepository();
+        catalogFile = localRepo.isBare() ? null : new File(localRepoFile, catalogPath);
+    }
+
+    /**
+     * Clones the remote repository if it is not present locally. Otherwise, fetches the branch and merges it only
+     * if the remote commit differs from HEAD. A bare repository fetches directly into its branches, so there is
+     * nothing to merge.
+     */
+    private void updateRepo() {
+        if (git == null) {
+            boolean cloned = !new File(localRepoPath).exists();
+            openRepo();
+            if (cloned) {
+                return;
+            }
+        }
+        try {
+            if (revision != null
+                    && ObjectId.isId(revision)
+                    && localRepo.getObjectDatabase().has(ObjectId.fromString(revision))) {
+                return;
+            }
+            LOGGER.debug("local git repo {} exists - updating", localRepoPath);
+            FetchCommand fetchCommand = git.fetch().setRemote(REMOTE);
+            if (depth > 0) {
+                fetchCommand.setDepth(depth);
+            }
+            if (credentialsProvider != null) {
+                fetchCommand.setCredentialsProvider(credentialsProvider);
+            }
+            if (transportConfigCallback != null) {
+                fetchCommand.setTransportConfigCallback(transportConfigCallback);
+            }
+            try {
+                fetchCommand.call();
+                if (localRepo.isBare()) {
+                    return;
+                }
+                Ref remoteRef = localRepo.exactRef(Constants.R_REMOTES + REMOTE + "/" + localRepo.getBranch());
+                if (remoteRef != null && !Objects.equals(remoteRef.getObjectId(), localRepo.resolve(Constants.HEAD))) {
+                    git.merge().include(remoteRef).call();
                 }
-            } catch (Exception exception) {
-                throw new CatalogReadException(
-                        "Unable to pull remote catalog at " + remoteRepoUri + " to " + localRepoPath, exception);
+            } catch (GitAPIException gitApiException) {
+                LOGGER.error("Exception", gitApiException);
             }
+        } catch (Exception exception) {
+            throw new CatalogReadException(
+                    "Unable to pull remote catalog at " + remoteRepoUri + " to " + localRepoPath, exception);
         }
     }
 }
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.catalog.git.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.catalog.api.CatalogData;
+import org.apache.logging.log4j.catalog.api.Event;
+import org.apache.logging.log4j.catalog.api.exception.CatalogModificationException;
+import org.apache.logging.log4j.catalog.api.util.CatalogObjectMappers;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GitCatalogDaoTest {
+
+    private static final String CATALOG_PATH = "catalog.json";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File remoteDir;
+
+    private Git upstream;
+
+    private GitCatalogDao catalogDao;
+
+    @Before
+    public void setUp() throws Exception {
+        remoteDir = folder.newFolder("remote.git");
+        Git.init().setBare(true).setDirectory(remoteDir).call().close();
+        upstream = Git.cloneRepository()
+                .setURI(remoteDir.toURI().toString())
+                .setDirectory(folder.newFolder("upstream"))
+                .call();
+        commit("login");
+        catalogDao = new GitCatalogDao();
+        catalogDao.setRemoteRepoUri(remoteDir.toURI().toString());
+        catalogDao.setLocalRepoPath(new File(folder.getRoot(), "local").getAbsolutePath());
+        catalogDao.setCatalogPath(CATALOG_PATH);
+    }
+
+    @After
+    public void tearDown() {
+        catalogDao.close();
+        upstream.close();
+    }
+
+    @Test
+    public void testReadParsesOnlyWhenCatalogChanges() throws Exception {
+        CatalogData data = catalogDao.read();
+        assertEquals("Incorrect number of events", 1, data.getEvents().size());
+        assertSame("Unchanged catalog was parsed again", data, catalogDao.read());
+
+        commit("login", "logout");
+        CatalogData updated = catalogDao.read();
+        assertEquals("Incorrect number of events", 2, updated.getEvents().size());
+        assertNotNull("Event was not indexed", catalogDao.getEvent("logout"));
+    }
+
+    @Test
+    public void testBackgroundSync() throws Exception {
+        catalogDao.setSyncInterval(50);
+        CatalogData data = catalogDao.read();
+        assertEquals("Incorrect number of events", 1, data.getEvents().size());
+        assertFalse("Catalog reloaded without changes", catalogDao.sync());
+
+        commit("login", "logout");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (catalogDao.read() == data && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("Catalog was not synced", 2, catalogDao.read().getEvents().size());
+        assertTrue("Catalog was not synced", catalogDao.read() != data);
+    }
+
+    @Test
+    public void testReadFromBareRepository() throws Exception {
+        catalogDao.setBare(true);
+        catalogDao.setDepth(1);
+        assertEquals(
+                "Incorrect number of events", 1, catalogDao.read().getEvents().size());
+        assertFalse("Working tree was checked out", new File(catalogDao.getLocalRepoPath(), CATALOG_PATH).exists());
+
+        commit("login", "logout");
+        assertEquals(
+                "Incorrect number of events", 2, catalogDao.read().getEvents().size());
+        assertNotNull("No last updated time", catalogDao.getLastUpdated());
+    }
+
+    @Test
+    public void testReadPinnedRevision() throws Exception {
+        String pinned = upstream.getRepository().resolve("HEAD").name();
+        upstream.tag().setName("v1").call();
+        upstream.push().setPushTags().call();
+        commit("login", "logout");
+
+        catalogDao.setBare(true);
+        catalogDao.setRevision(pinned);
+        assertEquals("Pinned commit not read", 1, catalogDao.read().getEvents().size());
+        commit("login", "logout", "transfer");
+        assertFalse("Pinned catalog changed", catalogDao.sync());
+        catalogDao.close();
+
+        GitCatalogDao tagged = new GitCatalogDao();
+        tagged.setRemoteRepoUri(remoteDir.toURI().toString());
+        tagged.setLocalRepoPath(new File(folder.getRoot(), "tagged").getAbsolutePath());
+        tagged.setCatalogPath(CATALOG_PATH);
+        tagged.setRevision("v1");
+        try {
+            assertEquals("Tagged commit not read", 1, tagged.read().getEvents().size());
+            try (RevWalk revWalk = new RevWalk(upstream.getRepository())) {
+                int commitTime =
+                        revWalk.parseCommit(ObjectId.fromString(pinned)).getCommitTime();
+                assertEquals(
+                        "Incorrect last updated time",
+                        LocalDateTime.ofInstant(Instant.ofEpochSecond(commitTime), ZoneId.systemDefault()),
+                        tagged.getLastUpdated());
+            }
+        } finally {
+            tagged.close();
+        }
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        CatalogData data = catalogDao.read();
+        ObjectId initial = remoteHead();
+        catalogDao.write(data);
+        assertEquals("Unchanged catalog was committed", initial, remoteHead());
+
+        data.getEvents()
+                .add(new Event().setName("logout").setDisplayName("logout").setDescription("logout"));
+        catalogDao.write(data);
+        assertNotEquals("Catalog was not pushed", initial, remoteHead());
+        assertNotNull("Event was not indexed", catalogDao.getEvent("logout"));
+    }
+
+    @Test
+    public void testWriteBehindCombinesWrites() throws Exception {
+        catalogDao.setWriteDelay(200);
+        CatalogData data = catalogDao.read();
+        ObjectId initial = remoteHead();
+        data.getEvents()
+                .add(new Event().setName("logout").setDisplayName("logout").setDescription("logout"));
+        CompletableFuture<ObjectId> first = catalogDao.writeAsync(data);
+        data.getEvents()
+                .add(new Event().setName("transfer").setDisplayName("transfer").setDescription("transfer"));
+        CompletableFuture<ObjectId> second = catalogDao.writeAsync(data);
+
+        ObjectId commitId = second.get(10, TimeUnit.SECONDS);
+        assertEquals("Writes were not combined", commitId, first.get(10, TimeUnit.SECONDS));
+        assertEquals("Catalog was not pushed", commitId, remoteHead());
+        try (RevWalk revWalk = new RevWalk(upstream.getRepository())) {
+            RevCommit commit = revWalk.parseCommit(commitId);
+            assertEquals(
+                    "Writes were not combined", initial, commit.getParent(0).getId());
+        }
+        assertEquals(
+                "Incorrect number of events", 3, catalogDao.read().getEvents().size());
+    }
+
+    @Test
+    public void testCloseFlushesQueuedWrite() throws Exception {
+        catalogDao.setWriteDelay(60000);
+        CatalogData data = catalogDao.read();
+        data.getEvents()
+                .add(new Event().setName("logout").setDisplayName("logout").setDescription("logout"));
+        CompletableFuture<ObjectId> future = catalogDao.writeAsync(data);
+        data.getEvents()
+                .add(new Event().setName("transfer").setDisplayName("transfer").setDescription("transfer"));
+        catalogDao.close();
+
+        assertTrue("Queued write was not flushed", future.isDone());
+        assertEquals("Catalog was not pushed", future.get(), remoteHead());
+        upstream.pull().call();
+        CatalogData pushed = CatalogObjectMappers.catalogReader()
+                .readValue(new File(upstream.getRepository().getWorkTree(), CATALOG_PATH));
+        assertEquals(
+                "Catalog changed after it was queued", 2, pushed.getEvents().size());
+        try {
+            catalogDao.writeAsync(data);
+            fail("Write accepted after close");
+        } catch (CatalogModificationException ex) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testWriteBehindRejectsReadOnlyCatalog() throws Exception {
+        catalogDao.setWriteDelay(60000);
+        catalogDao.setRevision(upstream.getRepository().resolve("HEAD").name());
+        CatalogData data = catalogDao.read();
+        try {
+            catalogDao.write(data);
+            fail("Write to a pinned revision was queued");
+        } catch (CatalogModificationException ex) {
+            // Expected.
+        }
+    }
+
+    private ObjectId remoteHead() throws Exception {
+        upstream.fetch().call();
+        return upstream.getRepository()
+                .resolve("origin/" + upstream.getRepository().getBranch());
+    }
+
+    private void commit(String... eventNames) throws Exception {
+        List<Event> events = new ArrayList<>();
+        for (String name : eventNames) {
+            events.add(new Event().setName(name).setDisplayName(name).setDescription(name));
+        }
+        CatalogData data = new CatalogData();
+        data.setProducts(new ArrayList<>());
+        data.setCategories(new ArrayList<>());
+        data.setAttributes(new ArrayList<>());
+        data.setEvents(events);
+        File workTree = upstream.getRepository().getWorkTree();
+        CatalogObjectMappers.prettyWriter(CatalogData.class).writeValue(new File(workTree, CATALOG_PATH), data);
+        upstream.add().addFilepattern(CATALOG_PATH).call();
+        upstream.commit().setMessage("Update catalog").call();
+        upstream.push().call();
+    }
+}
@@ -51,6 +51,8 @@ public class EclipseLinkConfig {
         LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
         Properties properties = new Properties();
         properties.setProperty("eclipselink.weaving", "static");
+        properties.setProperty("eclipselink.jdbc.batch-writing", "JDBC");
+        properties.setProperty("eclipselink.jdbc.batch-writing.size", "100");
         factory.setJpaProperties(properties);
         factory.setJpaVendorAdapter(vendorAdapter);
         factory.setPackagesToScan("org.apache.logging.log4j.catalog");
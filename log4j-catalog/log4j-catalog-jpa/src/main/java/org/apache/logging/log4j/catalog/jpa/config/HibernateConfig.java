@@ -16,6 +16,7 @@
  */
 package org.apache.logging.log4j.catalog.jpa.config;
 
+import java.util.Properties;
 import javax.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -44,6 +45,10 @@ public class HibernateConfig {
         vendorAdapter.setGenerateDdl(false);
 
         LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        Properties properties = new Properties();
+        properties.setProperty("hibernate.jdbc.batch_size", "100");
+        properties.setProperty("hibernate.order_updates", "true");
+        factory.setJpaProperties(properties);
         factory.setJpaVendorAdapter(vendorAdapter);
         factory.setPackagesToScan("org.apache.logging.log4j.catalog");
         factory.setDataSource(dataSourceConfig.dataSource());
@@ -16,11 +16,11 @@
  */
 package org.apache.logging.log4j.catalog.jpa.converter;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.catalog.api.Attribute;
@@ -43,11 +43,22 @@ public class AttributeConverter extends AbstractConverter<Attribute, AttributeMo
     private AttributeService attributeService;
 
     public AttributeModel convert(Attribute attribute) {
-        LOGGER.traceEntry(attribute.getName());
-        AttributeModel model;
+        AttributeModel model = null;
         if (attribute.getId() != null) {
-            model = attributeService.getAttribute(attribute.getId()).orElseGet(AttributeModel::new);
-        } else {
+            model = attributeService.getAttribute(attribute.getId()).orElse(null);
+        }
+        return convert(attribute, model);
+    }
+
+    /**
+     * Copies the Attribute into a model that has already been loaded.
+     * @param attribute The Attribute.
+     * @param model The model to update, or null to create a new one.
+     * @return The model.
+     */
+    public AttributeModel convert(Attribute attribute, AttributeModel model) {
+        LOGGER.traceEntry(attribute.getName());
+        if (model == null) {
             model = new AttributeModel();
         }
         model.setName(attribute.getName());
@@ -55,7 +66,9 @@ public class AttributeConverter extends AbstractConverter<Attribute, AttributeMo
         model.setDescription(attribute.getDescription());
         model.setDisplayName(attribute.getDisplayName());
         model.setDataType(attribute.getDataType());
-        model.setId(attribute.getId());
+        if (attribute.getId() != null) {
+            model.setId(attribute.getId());
+        }
         model.setCatalogId(attribute.getCatalogId());
         model.setIndexed(attribute.isIndexed());
         model.setRequestContext(attribute.isRequestContext());
@@ -64,23 +77,24 @@ public class AttributeConverter extends AbstractConverter<Attribute, AttributeMo
         model.setExamples(attribute.getExamples());
         Set<ConstraintModel> constraintModels =
                 model.getConstraints() != null ? model.getConstraints() : new HashSet<>();
-        Map<Long, ConstraintModel> constraintMap =
-                constraintModels.stream().collect(Collectors.toMap(ConstraintModel::getId, Function.identity()));
         if (attribute.getConstraints() != null) {
-            constraintModels.removeIf(a ->
-                    attribute.getConstraints().stream().noneMatch(b -> b.getId().equals(a.getId())));
+            List<ConstraintModel> unmatched = new ArrayList<>(constraintModels);
+            List<ConstraintModel> retained = new ArrayList<>();
             for (Constraint constraint : attribute.getConstraints()) {
-                ConstraintModel constraintModel;
-                if (constraint.getId() != null) {
-                    constraintModel = constraintMap.get(constraint.getId());
-                    constraintModel.setConstraintType(
-                            constraint.getConstraintType().getName());
-                    constraintModel.setValue(constraint.getValue());
+                String constraintType = constraint.getConstraintType().getName();
+                ConstraintModel constraintModel = findConstraint(unmatched, constraint, constraintType);
+                if (constraintModel != null) {
+                    unmatched.remove(constraintModel);
                 } else {
                     constraintModel = new ConstraintModel();
-                    constraintModel.setConstraintType(
-                            constraint.getConstraintType().getName());
-                    constraintModel.setValue(constraint.getValue());
+                }
+                constraintModel.setConstraintType(constraintType);
+                constraintModel.setValue(constraint.getValue());
+                retained.add(constraintModel);
+            }
+            constraintModels.removeIf(unmatched::contains);
+            for (ConstraintModel constraintModel : retained) {
+                if (!constraintModels.contains(constraintModel)) {
                     constraintModels.add(constraintModel);
                 }
             }
@@ -88,4 +102,20 @@ public class AttributeConverter extends AbstractConverter<Attribute, AttributeMo
         model.setConstraints(constraintModels);
         return LOGGER.traceExit(model);
     }
+
+    /**
+     * Constraints loaded from a catalog file have no id, so they are matched by type and value.
+     */
+    private static ConstraintModel findConstraint(
+            List<ConstraintModel> constraintModels, Constraint constraint, String constraintType) {
+        for (ConstraintModel constraintModel : constraintModels) {
+            if (constraint.getId() != null
+                    ? constraint.getId().equals(constraintModel.getId())
+                    : constraintType.equals(constraintModel.getConstraintType())
+                            && Objects.equals(constraint.getValue(), constraintModel.getValue())) {
+                return constraintModel;
+            }
+        }
+        return null;
+    }
 }
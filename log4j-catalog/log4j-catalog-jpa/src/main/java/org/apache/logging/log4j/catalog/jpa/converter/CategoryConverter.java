@@ -34,9 +34,21 @@ public class CategoryConverter extends AbstractConverter<Category, CategoryModel
     private EventService eventService;
 
     public CategoryModel convert(Category category) {
-        Map<String, EventModel> eventMap = eventService.getEventMap();
-        CategoryModel model = new CategoryModel();
-        model.setId(category.getId());
+        return convert(category, null, eventService.getEventMap());
+    }
+
+    /**
+     * Copies the Category into a model using Events that have already been loaded.
+     * @param category The Category.
+     * @param model The model to update, or null to create a new one.
+     * @param eventMap The EventModels, keyed by name.
+     * @return The model.
+     */
+    public CategoryModel convert(Category category, CategoryModel model, Map<String, EventModel> eventMap) {
+        if (model == null) {
+            model = new CategoryModel();
+            model.setId(category.getId());
+        }
         model.setCatalogId(category.getCatalogId());
         model.setName(category.getName());
         model.setDescription(category.getDescription());
@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.catalog.api.Event;
@@ -50,11 +51,24 @@ public class EventConverter extends AbstractConverter<Event, EventModel> {
     private AttributeService attributeService;
 
     public EventModel convert(Event event) {
-        LOGGER.traceEntry(event.getName());
-        EventModel model;
+        EventModel model = null;
         if (event.getId() != null) {
-            model = eventService.getEvent(event.getId()).orElseGet(EventModel::new);
-        } else {
+            model = eventService.getEvent(event.getId()).orElse(null);
+        }
+        return convert(event, model, name -> getAttribute(event.getCatalogId(), name));
+    }
+
+    /**
+     * Copies the Event into a model using Attributes that have already been loaded.
+     * @param event The Event.
+     * @param model The model to update, or null to create a new one.
+     * @param attributeLookup Locates the AttributeModel for an attribute name.
+     * @return The model.
+     */
+    public EventModel convert(
+            Event event, EventModel model, Function<String, Optional<AttributeModel>> attributeLookup) {
+        LOGGER.traceEntry(event.getName());
+        if (model == null) {
             model = new EventModel();
         }
         model.setCatalogId(event.getCatalogId());
@@ -75,7 +89,7 @@ public class EventConverter extends AbstractConverter<Event, EventModel> {
                 if (eventAttributeModel != null) {
                     eventAttributeModel.setRequired(eventAttribute.isRequired());
                 } else {
-                    Optional<AttributeModel> optional = getAttribute(event.getCatalogId(), eventAttribute.getName());
+                    Optional<AttributeModel> optional = attributeLookup.apply(eventAttribute.getName());
                     if (optional.isPresent()) {
                         eventAttributeModel = new EventAttributeModel();
                         eventAttributeModel.setRequired(eventAttribute.isRequired());
@@ -34,9 +34,21 @@ public class ProductConverter extends AbstractConverter<Product, ProductModel> {
     private EventService eventService;
 
     public ProductModel convert(Product product) {
-        Map<String, EventModel> eventMap = eventService.getEventMap();
-        ProductModel model = new ProductModel();
-        model.setId(product.getId());
+        return convert(product, null, eventService.getEventMap());
+    }
+
+    /**
+     * Copies the Product into a model using Events that have already been loaded.
+     * @param product The Product.
+     * @param model The model to update, or null to create a new one.
+     * @param eventMap The EventModels, keyed by name.
+     * @return The model.
+     */
+    public ProductModel convert(Product product, ProductModel model, Map<String, EventModel> eventMap) {
+        if (model == null) {
+            model = new ProductModel();
+            model.setId(product.getId());
+        }
         model.setName(product.getName());
         model.setDescription(product.getDescription());
         model.setDisplayName(product.getDisplayName());
@@ -41,9 +41,15 @@ public interface BaseRepository<T, ID extends Serializable> extends Repository<T
     @Modifying
     T save(T persisted);
 
+    @Modifying
+    <S extends T> List<S> saveAll(Iterable<S> entities);
+
     @Modifying
     void delete(T deleted);
 
     @Modifying
     void deleteById(ID id);
+
+    @Modifying
+    void deleteAll(Iterable<? extends T> entities);
 }
@@ -28,4 +28,12 @@ public interface CatalogService {
     CatalogModel getCatalogModel();
 
     void saveCatalog(CatalogModel catalogModel);
+
+    /**
+     * Updates the stored catalog to match the CatalogData in a single transaction. The existing Attributes, Events,
+     * Categories and Products are each loaded with one query and matched by name, and the changes are saved
+     * together instead of with a call per item. Items that are no longer in the CatalogData are deleted.
+     * @param catalogData The catalog to store.
+     */
+    void updateCatalog(CatalogData catalogData);
 }
@@ -17,17 +17,26 @@
 package org.apache.logging.log4j.catalog.jpa.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.catalog.api.Attribute;
 import org.apache.logging.log4j.catalog.api.CatalogData;
 import org.apache.logging.log4j.catalog.api.Category;
 import org.apache.logging.log4j.catalog.api.Event;
 import org.apache.logging.log4j.catalog.api.Product;
 import org.apache.logging.log4j.catalog.api.plugins.ConstraintPlugins;
+import org.apache.logging.log4j.catalog.jpa.converter.AttributeConverter;
 import org.apache.logging.log4j.catalog.jpa.converter.AttributeModelConverter;
+import org.apache.logging.log4j.catalog.jpa.converter.CategoryConverter;
 import org.apache.logging.log4j.catalog.jpa.converter.CategoryModelConverter;
+import org.apache.logging.log4j.catalog.jpa.converter.EventConverter;
 import org.apache.logging.log4j.catalog.jpa.converter.EventModelConverter;
+import org.apache.logging.log4j.catalog.jpa.converter.ProductConverter;
 import org.apache.logging.log4j.catalog.jpa.converter.ProductModelConverter;
 import org.apache.logging.log4j.catalog.jpa.dao.AttributeRepository;
 import org.apache.logging.log4j.catalog.jpa.dao.CatalogRepository;
@@ -49,6 +58,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = false)
 public class CatalogServiceImpl implements CatalogService {
 
+    private static final Logger LOGGER = LogManager.getLogger(CatalogServiceImpl.class);
+
     private static final ConstraintPlugins constraintPlugins = ConstraintPlugins.getInstance();
 
     @Autowired
@@ -78,6 +89,18 @@ public class CatalogServiceImpl implements CatalogService {
     @Autowired
     private CatalogRepository catalogRepository;
 
+    @Autowired
+    private AttributeConverter attributeConverter;
+
+    @Autowired
+    private EventConverter eventConverter;
+
+    @Autowired
+    private CategoryConverter categoryConverter;
+
+    @Autowired
+    private ProductConverter productConverter;
+
     public CatalogData getCatalogData() {
         CatalogData data = new CatalogData();
 
@@ -141,4 +164,67 @@ public class CatalogServiceImpl implements CatalogService {
     public void saveCatalog(CatalogModel catalogModel) {
         catalogRepository.save(catalogModel);
     }
+
+    @Override
+    public void updateCatalog(CatalogData catalogData) {
+        // Each map holds the stored items that have not been matched to the catalog yet, so whatever is left once
+        // the catalog has been converted is stale.
+        LOGGER.debug("Updating attributes");
+        Map<String, AttributeModel> staleAttributes = mapByName(attributeRepository.findAll(), AttributeModel::getName);
+        List<AttributeModel> attributes =
+                new ArrayList<>(catalogData.getAttributes().size());
+        for (Attribute attribute : catalogData.getAttributes()) {
+            attributes.add(attributeConverter.convert(attribute, staleAttributes.remove(attribute.getName())));
+        }
+        Map<String, AttributeModel> savedAttributes =
+                mapByName(attributeRepository.saveAll(attributes), AttributeModel::getName);
+
+        LOGGER.debug("Updating events");
+        Map<String, EventModel> staleEvents = mapByName(eventRepository.findAll(), EventModel::getName);
+        Function<String, Optional<AttributeModel>> attributeLookup =
+                name -> Optional.ofNullable(savedAttributes.get(name));
+        List<EventModel> events = new ArrayList<>(catalogData.getEvents().size());
+        for (Event event : catalogData.getEvents()) {
+            events.add(eventConverter.convert(event, staleEvents.remove(event.getName()), attributeLookup));
+        }
+        Map<String, EventModel> savedEvents = mapByName(eventRepository.saveAll(events), EventModel::getName);
+
+        LOGGER.debug("Updating categories");
+        Map<String, CategoryModel> staleCategories = mapByName(categoryRepository.findAll(), CategoryModel::getName);
+        List<CategoryModel> categories =
+                new ArrayList<>(catalogData.getCategories().size());
+        for (Category category : catalogData.getCategories()) {
+            categories.add(
+                    categoryConverter.convert(category, staleCategories.remove(category.getName()), savedEvents));
+        }
+        categoryRepository.saveAll(categories);
+
+        LOGGER.debug("Updating products");
+        Map<String, ProductModel> staleProducts = mapByName(productRepository.findAll(), ProductModel::getName);
+        List<ProductModel> products = new ArrayList<>(catalogData.getProducts().size());
+        for (Product product : catalogData.getProducts()) {
+            products.add(productConverter.convert(product, staleProducts.remove(product.getName()), savedEvents));
+        }
+        productRepository.saveAll(products);
+
+        // Products and categories refer to events, which refer to attributes, so they are deleted in that order.
+        LOGGER.debug(
+                "Deleting {} products, {} categories, {} events and {} attributes",
+                staleProducts.size(),
+                staleCategories.size(),
+                staleEvents.size(),
+                staleAttributes.size());
+        productRepository.deleteAll(staleProducts.values());
+        categoryRepository.deleteAll(staleCategories.values());
+        eventRepository.deleteAll(staleEvents.values());
+        attributeRepository.deleteAll(staleAttributes.values());
+    }
+
+    private static <T> Map<String, T> mapByName(List<T> models, Function<T, String> nameFunction) {
+        Map<String, T> map = new HashMap<>(models.size());
+        for (T model : models) {
+            map.put(nameFunction.apply(model), model);
+        }
+        return map;
+    }
 }
@@ -22,10 +22,14 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.apache.logging.log4j.catalog.api.Attribute;
 import org.apache.logging.log4j.catalog.api.CatalogData;
 import org.apache.logging.log4j.catalog.api.DataType;
+import org.apache.logging.log4j.catalog.api.Event;
 import org.apache.logging.log4j.catalog.jpa.config.ApplicationConfiguration;
 import org.apache.logging.log4j.catalog.jpa.dao.AttributeRepository;
 import org.apache.logging.log4j.catalog.jpa.dao.CategoryRepository;
@@ -199,4 +203,86 @@ public class CatalogTest {
         assertEquals("Incorrect number of attributes", 10, data.getAttributes().size());
         assertEquals("Incorrect number of categories", 2, data.getCategories().size());
     }
+
+    @Test
+    public void testUpdateCatalog() {
+        CatalogData data = catalogService.getCatalogData();
+        clearIds(data);
+        Event login = data.getEvents().stream()
+                .filter(e -> e.getName().equals("login"))
+                .findFirst()
+                .get();
+        login.setDescription("Updated login");
+        data.getAttributes()
+                .add(new Attribute()
+                        .setName("region")
+                        .setDisplayName("Region")
+                        .setDescription("Region")
+                        .setDataType(DataType.STRING));
+
+        catalogService.updateCatalog(data);
+
+        assertEquals(
+                "Incorrect number of attributes",
+                11,
+                attributeRepository.findAll().size());
+        assertEquals("Incorrect number of events", 4, eventRepository.findAll().size());
+        assertEquals(
+                "Incorrect number of categories",
+                2,
+                categoryRepository.findAll().size());
+        EventModel event = eventRepository.findOne(1L).get();
+        assertEquals("Event was not updated", "Updated login", event.getDescription());
+        assertEquals(
+                "Event attributes changed",
+                login.getAttributes().size(),
+                event.getAttributes().size());
+        AttributeModel attribute = attributeRepository.findOne(2L).get();
+        assertEquals("Constraints changed", 1, attribute.getConstraints().size());
+    }
+
+    @Test
+    public void testUpdateCatalogDeletesStaleItems() {
+        CatalogData data = catalogService.getCatalogData();
+        clearIds(data);
+        Event removed = data.getEvents().remove(0);
+        data.getCategories().forEach(c -> c.getEvents().remove(removed.getName()));
+        data.getProducts().forEach(p -> p.getEvents().remove(removed.getName()));
+        Set<String> referenced = new HashSet<>();
+        data.getEvents().forEach(e -> e.getAttributes().forEach(a -> referenced.add(a.getName())));
+        data.getAttributes().removeIf(a -> !referenced.contains(a.getName()));
+        data.getCategories().remove(1);
+
+        catalogService.updateCatalog(data);
+
+        assertEquals("Incorrect number of events", 3, eventRepository.findAll().size());
+        assertFalse(
+                "Stale event was not deleted",
+                eventRepository.findAll().stream().anyMatch(e -> e.getName().equals(removed.getName())));
+        assertEquals(
+                "Incorrect number of attributes",
+                data.getAttributes().size(),
+                attributeRepository.findAll().size());
+        assertEquals(
+                "Incorrect number of categories",
+                1,
+                categoryRepository.findAll().size());
+        CatalogData updated = catalogService.getCatalogData();
+        assertEquals("Incorrect number of products", 1, updated.getProducts().size());
+        assertFalse(
+                "Stale event still in product",
+                updated.getProducts().get(0).getEvents().contains(removed.getName()));
+    }
+
+    private static void clearIds(CatalogData data) {
+        for (Attribute attribute : data.getAttributes()) {
+            attribute.setId(null);
+            if (attribute.getConstraints() != null) {
+                attribute.getConstraints().forEach(c -> c.setId(null));
+            }
+        }
+        data.getEvents().forEach(e -> e.setId(null));
+        data.getCategories().forEach(c -> c.setId(null));
+        data.getProducts().forEach(p -> p.setId(null));
+    }
 }